@@ -0,0 +1,102 @@
+package com.example.springdatajpa.benchmark;
+
+import com.example.springdatajpa.config.AuditorIds;
+import com.example.springdatajpa.entity.Member;
+import com.example.springdatajpa.repository.MemberRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.auditing.AuditingHandler;
+import org.springframework.data.auditing.CurrentDateTimeProvider;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+// 감사 식별자 생성 경합 + 다중 스레드 insert 처리량
+// - randomUuid vs threadLocalRandomUuid : 8 스레드에서 식별자 생성 비용 (SecureRandom 경합)
+// - insertMembers : 8 스레드에서 100건씩 batch insert, 할당량은 -prof gc
+//   auditing=baseline  : 이전 방식 (auditor = UUID.randomUUID(), 엔티티마다 LocalDateTime.now())
+//   auditing=optimized : 현재 방식 (AuditorIds.next(), flush 단위 시각 FlushScopedDateTimeProvider)
+//   컬럼 타입은 실행 중에 바꿀 수 없으므로 두 경우 모두 binary(16)에 저장한다. 저장 크기는 종료 시 출력하는 값으로 비교
+// - 종료 시 audit 컬럼의 row 당 바이트 수를 출력 (binary(16) x 2 = 32, 이전 문자열 36자 x 2)
+// ./gradlew jmh -PjmhArgs="AuditingBenchmark"
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(8)
+@Fork(1)
+public class AuditingBenchmark {
+    private static final int BATCH = 100;
+
+    @State(Scope.Benchmark)
+    public static class InsertState {
+        @Param({"baseline", "optimized"})
+        String auditing;
+
+        ConfigurableApplicationContext context;
+        TransactionTemplate transactionTemplate;
+        MemberRepository memberRepository;
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            context = BenchmarkApplication.start(Map.of());
+            transactionTemplate = context.getBean(TransactionTemplate.class);
+            memberRepository = context.getBean(MemberRepository.class);
+            if ("baseline".equals(auditing)) {
+                AuditingHandler handler = context.getBean("jpaAuditingHandler", AuditingHandler.class);
+                handler.setAuditorAware(() -> Optional.of(UUID.randomUUID()));
+                handler.setDateTimeProvider(CurrentDateTimeProvider.INSTANCE);
+            }
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() {
+            Map<String, Object> row = context.getBean(JdbcTemplate.class).queryForMap(
+                    "select count(*) as members, avg(octet_length(created_by) + octet_length(last_modified_by)) as audit_bytes " +
+                    "from member");
+            System.out.println("\n[" + auditing + "] members = " + row.get("MEMBERS")
+                    + ", audit bytes per row = " + row.get("AUDIT_BYTES") + " (String UUID : 72)");
+            context.close();
+        }
+    }
+
+    @Benchmark
+    public UUID randomUuid() {
+        return UUID.randomUUID();
+    }
+
+    @Benchmark
+    public UUID threadLocalRandomUuid() {
+        return AuditorIds.next();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public int insertMembers(InsertState state) {
+        List<Member> members = new ArrayList<>(BATCH);
+        for (int i = 0; i < BATCH; i++) {
+            members.add(new Member("member" + i, i));
+        }
+        return state.transactionTemplate.execute(status -> state.memberRepository.saveAllBatched(members, BATCH));
+    }
+}
@@ -0,0 +1,58 @@
+package com.example.springdatajpa.benchmark;
+
+import com.example.springdatajpa.SpringDataJpaApplication;
+import com.example.springdatajpa.entity.Member;
+import com.example.springdatajpa.entity.Team;
+import com.example.springdatajpa.repository.MemberRepository;
+import com.example.springdatajpa.repository.TeamRepository;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// 벤치마크용 JPA 컨텍스트 : 메모리 H2, 웹서버/SQL 로그 없이 띄운다.
+public final class BenchmarkApplication {
+    private BenchmarkApplication() {
+    }
+
+    public static ConfigurableApplicationContext start(Map<String, Object> overrides) {
+        Map<String, Object> properties = new HashMap<>();
+        properties.put("spring.datasource.url", "jdbc:h2:mem:benchmark;DB_CLOSE_DELAY=-1");
+        properties.put("spring.jpa.properties.hibernate.format_sql", "false");
+        properties.put("logging.level.org.hibernate.SQL", "warn");
+        properties.put("logging.level.com.example.springdatajpa", "warn");
+        properties.put("decorator.datasource.p6spy.enable-logging", "false");
+        properties.putAll(overrides);
+
+        return new SpringApplicationBuilder(SpringDataJpaApplication.class)
+                .web(WebApplicationType.NONE)
+                .properties(properties)
+                .run();
+    }
+
+    // 팀 teams개, 회원 members개 (username은 member0 ~ member9 로 10%씩 겹친다)
+    public static void seedMembers(ConfigurableApplicationContext context, int members, int teams) {
+        TransactionTemplate transactionTemplate = context.getBean(TransactionTemplate.class);
+        MemberRepository memberRepository = context.getBean(MemberRepository.class);
+        TeamRepository teamRepository = context.getBean(TeamRepository.class);
+
+        transactionTemplate.executeWithoutResult(status -> {
+            List<Team> teamList = new ArrayList<>(teams);
+            for (int i = 0; i < teams; i++) {
+                teamList.add(new Team("team" + i));
+            }
+            teamRepository.saveAllBatched(teamList, 500);
+
+            List<Member> memberList = new ArrayList<>(members);
+            for (int i = 0; i < members; i++) {
+                memberList.add(new Member("member" + (i % 10), i % 100, teamList.get(i % teams)));
+            }
+            memberRepository.saveAllBatched(memberList, 500);
+        });
+    }
+}
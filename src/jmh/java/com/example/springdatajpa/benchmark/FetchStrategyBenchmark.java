@@ -0,0 +1,131 @@
+package com.example.springdatajpa.benchmark;
+
+import com.example.springdatajpa.dto.MemberDto;
+import com.example.springdatajpa.dto.UsernameOnlyDto;
+import com.example.springdatajpa.entity.Member;
+import com.example.springdatajpa.repository.MemberJpaRepository;
+import com.example.springdatajpa.repository.MemberProjection;
+import com.example.springdatajpa.repository.MemberRepository;
+import com.example.springdatajpa.repository.UsernameOnly;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+// MemberRepository 조회 전략별 처리량/지연시간/할당량 비교
+// ./gradlew jmh -PjmhArgs="FetchStrategyBenchmark -p members=10000"
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class FetchStrategyBenchmark {
+    @Param({"1000"})
+    int members;
+
+    @Param({"0", "100", "500"})
+    int batchFetchSize;
+
+    ConfigurableApplicationContext context;
+    TransactionTemplate transactionTemplate;
+    MemberRepository memberRepository;
+    MemberJpaRepository memberJpaRepository;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        // 2차 캐시를 끄고 매번 DB에서 지연로딩 되도록 한다.
+        context = BenchmarkApplication.start(Map.of(
+                "spring.jpa.properties.hibernate.default_batch_fetch_size", batchFetchSize,
+                "spring.jpa.properties.hibernate.cache.use_second_level_cache", false));
+        BenchmarkApplication.seedMembers(context, members, Math.max(1, members / 10));
+
+        transactionTemplate = context.getBean(TransactionTemplate.class);
+        memberRepository = context.getBean(MemberRepository.class);
+        memberJpaRepository = context.getBean(MemberJpaRepository.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public void lazyFindAllThenTouchTeam(Blackhole blackhole) {
+        transactionTemplate.executeWithoutResult(status -> touchTeams(memberJpaRepository.findAll(), blackhole));
+    }
+
+    @Benchmark
+    public void fetchJoin(Blackhole blackhole) {
+        transactionTemplate.executeWithoutResult(status -> touchTeams(memberRepository.findMembersFetchJoin(), blackhole));
+    }
+
+    @Benchmark
+    public void entityGraph(Blackhole blackhole) {
+        transactionTemplate.executeWithoutResult(status -> touchTeams(memberRepository.findMemberEntityGraph(), blackhole));
+    }
+
+    @Benchmark
+    public void namedEntityGraph(Blackhole blackhole) {
+        transactionTemplate.executeWithoutResult(status -> touchTeams(memberRepository.findMemberNamedEntityGraph(), blackhole));
+    }
+
+    @Benchmark
+    public void dto(Blackhole blackhole) {
+        transactionTemplate.executeWithoutResult(status -> {
+            for (MemberDto dto : memberRepository.findMemberDto()) {
+                blackhole.consume(dto.getTeamName());
+            }
+        });
+    }
+
+    @Benchmark
+    public void interfaceProjection(Blackhole blackhole) {
+        transactionTemplate.executeWithoutResult(status -> {
+            for (UsernameOnly projection : memberRepository.findProjectionsByUsername("member1")) {
+                blackhole.consume(projection.getUsername());
+            }
+        });
+    }
+
+    @Benchmark
+    public void classProjection(Blackhole blackhole) {
+        transactionTemplate.executeWithoutResult(status -> {
+            for (UsernameOnlyDto projection : memberRepository.findClassProjectionsByUsername("member1")) {
+                blackhole.consume(projection.getUsername());
+            }
+        });
+    }
+
+    @Benchmark
+    public void nativeInterfaceProjection(Blackhole blackhole) {
+        transactionTemplate.executeWithoutResult(status -> {
+            for (MemberProjection projection : memberRepository.findMemberByNativeQueryProjections(PageRequest.of(0, members))) {
+                blackhole.consume(projection.getTeamName());
+            }
+        });
+    }
+
+    private void touchTeams(List<Member> members, Blackhole blackhole) {
+        for (Member member : members) {
+            blackhole.consume(member.getTeam().getName());
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package com.example.springdatajpa.benchmark;
+
+import com.example.springdatajpa.entity.Member;
+import com.example.springdatajpa.repository.MemberRepository;
+import com.example.springdatajpa.service.MemberService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.dao.OptimisticLockingFailureException;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+// 같은 회원(hotMembers 명)을 16 스레드가 동시에 수정 : 비관적 락(PESSIMISTIC_READ) vs 낙관적 락 + @OptimisticRetry
+// 재시도 초과로 실패한 수정은 종료 시 출력 (충돌 통계는 /admin/optimistic-locks 와 같은 OptimisticLockMetrics)
+// ./gradlew jmh -PjmhArgs="LockingBenchmark -p hotMembers=1"
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(16)
+@Fork(1)
+public class LockingBenchmark {
+    @Param({"1", "4", "16"})
+    int hotMembers;
+
+    ConfigurableApplicationContext context;
+    MemberService memberService;
+    List<Long> ids = new ArrayList<>();
+    List<String> usernames = new ArrayList<>();
+    final LongAdder failed = new LongAdder();
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkApplication.start(Map.of());
+        memberService = context.getBean(MemberService.class);
+        MemberRepository memberRepository = context.getBean(MemberRepository.class);
+        for (int i = 0; i < hotMembers; i++) {
+            Member member = memberRepository.save(new Member("hot" + i, 0));
+            ids.add(member.getId());
+            usernames.add(member.getUsername());
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        System.out.println("\nfailed updates = " + failed.sum());
+        context.close();
+    }
+
+    @Benchmark
+    public int pessimisticLock() {
+        return memberService.addAgeWithLock(usernames.get(ThreadLocalRandom.current().nextInt(hotMembers)), 1);
+    }
+
+    @Benchmark
+    public int optimisticRetry() {
+        try {
+            return memberService.addAge(ids.get(ThreadLocalRandom.current().nextInt(hotMembers)), 1);
+        } catch (OptimisticLockingFailureException e) {
+            failed.increment();
+            return -1;
+        }
+    }
+}
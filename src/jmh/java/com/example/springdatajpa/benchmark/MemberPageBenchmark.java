@@ -0,0 +1,77 @@
+package com.example.springdatajpa.benchmark;
+
+import com.example.springdatajpa.dto.MemberDto;
+import com.example.springdatajpa.repository.MemberRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+// /api/v2/members : 엔티티 조회 후 DTO 변환 vs DTO 직접 조회
+// 할당량은 -prof gc 의 gc.alloc.rate.norm (B/op)
+// ./gradlew jmh -PjmhArgs="MemberPageBenchmark"
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.AverageTime, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MemberPageBenchmark {
+    @Param({"10000"})
+    int members;
+
+    @Param({"30", "300", "3000"})  // spring.data.web.pageable.max-page-size
+    int pageSize;
+
+    ConfigurableApplicationContext context;
+    TransactionTemplate transactionTemplate;
+    MemberRepository memberRepository;
+    Pageable pageable;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkApplication.start(Map.of(
+                "spring.jpa.properties.hibernate.cache.use_second_level_cache", false));
+        BenchmarkApplication.seedMembers(context, members, Math.max(1, members / 10));
+
+        transactionTemplate = context.getBean(TransactionTemplate.class);
+        transactionTemplate.setReadOnly(true);
+        memberRepository = context.getBean(MemberRepository.class);
+        pageable = PageRequest.of(1, pageSize, Sort.by("id"));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    // 기존 : 엔티티 + 스냅샷 생성 후 변환, 팀 이름 없음
+    @Benchmark
+    public Page<MemberDto> entityThenMap() {
+        return transactionTemplate.execute(status -> memberRepository.findAll(pageable)
+                .map(member -> new MemberDto(member.getId(), member.getUsername(), null)));
+    }
+
+    @Benchmark
+    public Page<MemberDto> dtoProjection() {
+        return transactionTemplate.execute(status -> memberRepository.findMemberDtoPage(pageable));
+    }
+}
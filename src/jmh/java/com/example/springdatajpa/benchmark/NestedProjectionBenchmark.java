@@ -0,0 +1,107 @@
+package com.example.springdatajpa.benchmark;
+
+import com.example.springdatajpa.repository.MemberRepository;
+import com.example.springdatajpa.repository.NestedClosedProjection;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.projection.ProjectionFactory;
+import org.springframework.data.projection.SpelAwareProxyProjectionFactory;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.persistence.EntityManagerFactory;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+// 중첩 projection(NestedClosedProjection) : 엔티티 조회 후 프록시 변환(기존) vs 필요한 컬럼만 조인 조회
+// 반복(iteration)마다 op 당 statement 수, 엔티티 로딩 수(= 엔티티로 읽은 row)를 출력한다. 할당량은 -prof gc
+// ./gradlew jmh -PjmhArgs="NestedProjectionBenchmark"
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class NestedProjectionBenchmark {
+    @Param({"10000"})
+    int members;
+
+    ConfigurableApplicationContext context;
+    TransactionTemplate transactionTemplate;
+    MemberRepository memberRepository;
+    ProjectionFactory projectionFactory = new SpelAwareProxyProjectionFactory();
+    Statistics statistics;
+    long operations;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkApplication.start(Map.of(
+                "spring.jpa.properties.hibernate.cache.use_second_level_cache", false));
+        BenchmarkApplication.seedMembers(context, members, Math.max(1, members / 10));
+
+        transactionTemplate = context.getBean(TransactionTemplate.class);
+        transactionTemplate.setReadOnly(true);
+        memberRepository = context.getBean(MemberRepository.class);
+        statistics = context.getBean(EntityManagerFactory.class).unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Setup(Level.Iteration)
+    public void resetStatistics() {
+        statistics.clear();
+        operations = 0;
+    }
+
+    @TearDown(Level.Iteration)
+    public void printStatistics() {
+        long ops = Math.max(1, operations);
+        System.out.printf("%nstatements/op = %.1f, entities loaded/op = %.1f%n",
+                          (double) statistics.getPrepareStatementCount() / ops,
+                          (double) statistics.getEntityLoadCount() / ops);
+    }
+
+    // 기존 : Member 전체 컬럼 조회 + 팀 지연로딩, 스프링 데이터가 엔티티를 감싼 프록시
+    @Benchmark
+    public void entityProjection(Blackhole blackhole) {
+        operations++;
+        transactionTemplate.executeWithoutResult(status -> {
+            for (Object member : memberRepository.findByUsername("member1")) {
+                consume(projectionFactory.createProjection(NestedClosedProjection.class, member), blackhole);
+            }
+        });
+    }
+
+    @Benchmark
+    public void prunedProjection(Blackhole blackhole) {
+        operations++;
+        transactionTemplate.executeWithoutResult(status -> {
+            for (NestedClosedProjection projection :
+                    memberRepository.findDynamicProjectionsByUsername("member1", NestedClosedProjection.class)) {
+                consume(projection, blackhole);
+            }
+        });
+    }
+
+    private static void consume(NestedClosedProjection projection, Blackhole blackhole) {
+        blackhole.consume(projection.getUsername());
+        blackhole.consume(projection.getTeam() == null ? null : projection.getTeam().getName());
+    }
+}
@@ -0,0 +1,122 @@
+package com.example.springdatajpa.benchmark;
+
+import com.example.springdatajpa.repository.MemberProjection;
+import com.example.springdatajpa.repository.MemberRepository;
+import com.example.springdatajpa.repository.ProjectionMappers;
+import com.example.springdatajpa.repository.ProjectionRowMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.projection.SpelAwareProxyProjectionFactory;
+
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+// 인터페이스 projection : 스프링 데이터 프록시 vs 생성된 클래스(ProjectionMappers)
+// - *Page : 네이티브 쿼리 페이지 조회 전체 (findMemberByNativeQueryProjections vs findMappedMemberProjections)
+// - *MapOnly : 미리 조회해 둔 행을 변환만 (쿼리 비용 제외)
+// 할당량은 -prof gc 의 gc.alloc.rate.norm (B/op)
+// ./gradlew jmh -PjmhArgs="ProjectionMappingBenchmark"
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ProjectionMappingBenchmark {
+    private static final String[] COLUMNS = {"id", "username", "teamName"};
+
+    @Param({"1000", "10000"})
+    int members;
+
+    ConfigurableApplicationContext context;
+    MemberRepository memberRepository;
+    SpelAwareProxyProjectionFactory projectionFactory = new SpelAwareProxyProjectionFactory();
+    ProjectionRowMapper<MemberProjection> mapper;
+    List<Object[]> rows;
+    PageRequest pageable;
+
+    @Setup(Level.Trial)
+    @SuppressWarnings("unchecked")
+    public void setUp() {
+        context = BenchmarkApplication.start(Map.of());
+        BenchmarkApplication.seedMembers(context, members, Math.max(1, members / 10));
+
+        memberRepository = context.getBean(MemberRepository.class);
+        mapper = context.getBean(ProjectionMappers.class).mapper(MemberProjection.class, COLUMNS);
+        pageable = PageRequest.of(0, members);
+
+        EntityManager em = context.getBean(EntityManagerFactory.class).createEntityManager();
+        try {
+            rows = em.createNativeQuery("SELECT m.member_id as id, m.username, t.name as teamName " +
+                                        "FROM member m left join team t ON m.team_id = t.team_id")
+                     .getResultList();
+        } finally {
+            em.close();
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public void proxyPage(Blackhole blackhole) {
+        consume(memberRepository.findMemberByNativeQueryProjections(pageable), blackhole);
+    }
+
+    @Benchmark
+    public void mappedPage(Blackhole blackhole) {
+        consume(memberRepository.findMappedMemberProjections(pageable), blackhole);
+    }
+
+    // 스프링 데이터가 네이티브 쿼리 결과에 하는 것과 같이 행마다 Map + 프록시 생성
+    @Benchmark
+    public void proxyMapOnly(Blackhole blackhole) {
+        for (Object[] row : rows) {
+            Map<String, Object> values = new HashMap<>(4);
+            for (int i = 0; i < COLUMNS.length; i++) {
+                values.put(COLUMNS[i], row[i]);
+            }
+            consume(projectionFactory.createProjection(MemberProjection.class, values), blackhole);
+        }
+    }
+
+    @Benchmark
+    public void mappedMapOnly(Blackhole blackhole) {
+        for (Object[] row : rows) {
+            consume(mapper.map(row), blackhole);
+        }
+    }
+
+    private static void consume(Page<MemberProjection> page, Blackhole blackhole) {
+        for (MemberProjection projection : page) {
+            consume(projection, blackhole);
+        }
+    }
+
+    private static void consume(MemberProjection projection, Blackhole blackhole) {
+        blackhole.consume(projection.getId());
+        blackhole.consume(projection.getUsername());
+        blackhole.consume(projection.getTeamName());
+    }
+}
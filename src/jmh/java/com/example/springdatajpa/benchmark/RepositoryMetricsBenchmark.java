@@ -0,0 +1,60 @@
+package com.example.springdatajpa.benchmark;
+
+import com.example.springdatajpa.entity.Member;
+import com.example.springdatajpa.repository.MemberRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+// 리포지토리 메서드 측정(RepositoryMethodMetrics) 비용 : 켠 것과 끈 것의 차이
+// findById 는 2차 캐시에서 읽으므로 DB 왕복 없이 프록시/트랜잭션 비용만 남는다.
+// ./gradlew jmh -PjmhArgs="RepositoryMetricsBenchmark"
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(4)
+@Fork(1)
+public class RepositoryMetricsBenchmark {
+    @Param({"true", "false"})
+    boolean metrics;
+
+    ConfigurableApplicationContext context;
+    MemberRepository memberRepository;
+    Long id;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkApplication.start(Map.of("app.repository-metrics.enabled", metrics));
+        memberRepository = context.getBean(MemberRepository.class);
+        id = memberRepository.save(new Member("member1", 10)).getId();
+        memberRepository.findById(id);   // 2차 캐시 적재
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Optional<Member> findById() {
+        return memberRepository.findById(id);
+    }
+}
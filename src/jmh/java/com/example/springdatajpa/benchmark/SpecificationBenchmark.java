@@ -0,0 +1,71 @@
+package com.example.springdatajpa.benchmark;
+
+import com.example.springdatajpa.entity.Member;
+import com.example.springdatajpa.repository.MemberRepository;
+import com.example.springdatajpa.repository.MemberSpec;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+// JpaSpecificationExecutor.findAll(spec) vs findAllCached(spec) : 매 호출 Criteria 렌더링/파싱 비용 비교
+// ./gradlew jmh -PjmhArgs="SpecificationBenchmark"
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SpecificationBenchmark {
+    @Param({"1000"})
+    int members;
+
+    ConfigurableApplicationContext context;
+    TransactionTemplate transactionTemplate;
+    MemberRepository memberRepository;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkApplication.start(Map.of());
+        BenchmarkApplication.seedMembers(context, members, Math.max(1, members / 10));
+
+        transactionTemplate = context.getBean(TransactionTemplate.class);
+        transactionTemplate.setReadOnly(true);
+        memberRepository = context.getBean(MemberRepository.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<Member> specificationExecutor() {
+        int i = ThreadLocalRandom.current().nextInt(10);
+        return transactionTemplate.execute(status -> memberRepository.findAll(
+                MemberSpec.username("member" + i).and(MemberSpec.teamName("team" + i))));
+    }
+
+    @Benchmark
+    public List<Member> cachedShape() {
+        int i = ThreadLocalRandom.current().nextInt(10);
+        return transactionTemplate.execute(status -> memberRepository.findAllCached(
+                MemberSpec.username("member" + i).and(MemberSpec.teamName("team" + i))));
+    }
+}
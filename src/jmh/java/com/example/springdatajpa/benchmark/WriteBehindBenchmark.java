@@ -0,0 +1,82 @@
+package com.example.springdatajpa.benchmark;
+
+import com.example.springdatajpa.entity.Member;
+import com.example.springdatajpa.repository.MemberAgeWriteBehindBuffer;
+import com.example.springdatajpa.repository.MemberRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+// 64 스레드가 소수의 회원(hotMembers)의 나이를 +1 : 요청마다 update 트랜잭션 vs write-behind 버퍼
+// 종료 시 DB 합계 = 버퍼 flush 후 전체 증가분과 일치하는지 출력
+// ./gradlew jmh -PjmhArgs="WriteBehindBenchmark"
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(64)
+@Fork(1)
+public class WriteBehindBenchmark {
+    @Param({"4"})
+    int hotMembers;
+
+    ConfigurableApplicationContext context;
+    MemberAgeWriteBehindBuffer buffer;
+    TransactionTemplate transactionTemplate;
+    JdbcTemplate jdbcTemplate;
+    List<Long> ids = new ArrayList<>();
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        // 64 스레드가 커넥션을 기다리지 않고 경합하도록 풀을 늘린다.
+        context = BenchmarkApplication.start(Map.of("spring.datasource.hikari.maximum-pool-size", 64));
+        buffer = context.getBean(MemberAgeWriteBehindBuffer.class);
+        transactionTemplate = context.getBean(TransactionTemplate.class);
+        jdbcTemplate = context.getBean(JdbcTemplate.class);
+        MemberRepository memberRepository = context.getBean(MemberRepository.class);
+        for (int i = 0; i < hotMembers; i++) {
+            ids.add(memberRepository.save(new Member("hot" + i, 0)).getId());
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        buffer.flush();
+        System.out.println("\nsum(age) = " + jdbcTemplate.queryForObject("select sum(age) from member", Long.class));
+        context.close();
+    }
+
+    // 기존 : 요청마다 update 한 건 + 커밋 (같은 row 락 경합)
+    @Benchmark
+    public Integer updatePerRequest() {
+        Long id = ids.get(ThreadLocalRandom.current().nextInt(hotMembers));
+        return transactionTemplate.execute(status -> jdbcTemplate.update(
+                "update member set age = age + 1, version = version + 1 where member_id = ?", id));
+    }
+
+    @Benchmark
+    public void writeBehind() {
+        buffer.addAge(ids.get(ThreadLocalRandom.current().nextInt(hotMembers)), 1);
+    }
+}
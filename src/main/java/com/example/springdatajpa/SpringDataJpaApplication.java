@@ -1,5 +1,6 @@
 package com.example.springdatajpa;
 
+import com.example.springdatajpa.config.AuditorIds;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.context.annotation.Bean;
@@ -9,7 +10,7 @@ import org.springframework.data.jpa.repository.config.EnableJpaAuditing;
 import java.util.Optional;
 import java.util.UUID;
 
-@EnableJpaAuditing
+@EnableJpaAuditing(dateTimeProviderRef = "flushScopedDateTimeProvider")
 @SpringBootApplication
 public class SpringDataJpaApplication {
     public static void main(String[] args) {
@@ -17,7 +18,7 @@ public class SpringDataJpaApplication {
     }
 
     @Bean
-    public AuditorAware<String> auditorProvider() {
-        return () -> Optional.of(UUID.randomUUID().toString());
+    public AuditorAware<UUID> auditorProvider() {
+        return () -> Optional.of(AuditorIds.next());
     }
 }
@@ -0,0 +1,106 @@
+package com.example.springdatajpa.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.SyncTaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.annotation.EnableAsync;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+// @Async("repositoryExecutor") 리포지토리 메서드를 실행하는 executor
+// - pool    : 커넥션 풀 크기만큼의 스레드 + 대기 큐 (기본)
+// - virtual : JDK 21+ 가상 스레드, 동시 실행 수는 커넥션 풀 크기로 제한
+// - caller  : 호출한 스레드(톰캣 요청 스레드)에서 바로 실행 (executor 사용 안 함)
+// Executor 빈이 있으면 부트의 applicationTaskExecutor는 생성되지 않는다. (@Async 는 항상 이름을 지정해서 사용)
+@Slf4j
+@Configuration
+@EnableAsync
+public class AsyncConfig {
+
+    @Bean
+    public Executor repositoryExecutor(@Value("${spring.datasource.hikari.maximum-pool-size:10}") int connectionPoolSize,
+                                       @Value("${app.async.repository-executor.mode:pool}") String mode,
+                                       @Value("${app.async.repository-executor.queue-capacity:1000}") int queueCapacity) {
+        switch (mode) {
+            case "caller":
+                return new SyncTaskExecutor();
+            case "virtual":
+                ExecutorService virtualThreads = newVirtualThreadPerTaskExecutor();
+                if (virtualThreads != null) {
+                    log.info("repositoryExecutor : virtual threads, max concurrency={}", connectionPoolSize);
+                    return new BoundedExecutor(virtualThreads, connectionPoolSize);
+                }
+                log.warn("repositoryExecutor : virtual threads require JDK 21+, falling back to a thread pool");
+                return threadPool(connectionPoolSize, queueCapacity);
+            case "pool":
+                return threadPool(connectionPoolSize, queueCapacity);
+            default:
+                throw new IllegalArgumentException("app.async.repository-executor.mode 는 pool, virtual, caller 중 하나입니다: " + mode);
+        }
+    }
+
+    // 커넥션보다 스레드가 많으면 커넥션 대기만 늘어나므로 풀 크기에 맞춘다.
+    // 큐가 가득 차면 TaskRejectedException (-> 503)
+    private ThreadPoolTaskExecutor threadPool(int size, int queueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setThreadNamePrefix("repository-");
+        executor.setCorePoolSize(size);
+        executor.setMaxPoolSize(size);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(30);
+        executor.initialize();
+        return executor;
+    }
+
+    // 소스 레벨은 JDK 11 이므로 리플렉션으로 호출
+    private static ExecutorService newVirtualThreadPerTaskExecutor() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException e) {
+            return null;
+        }
+    }
+
+    // 가상 스레드는 무제한으로 만들어지므로 동시에 DB를 쓰는 작업 수를 세마포어로 제한한다.
+    // (대기는 가상 스레드 안에서 하므로 호출한 스레드는 막히지 않는다)
+    static class BoundedExecutor implements Executor, DisposableBean {
+        private final ExecutorService delegate;
+        private final Semaphore permits;
+
+        BoundedExecutor(ExecutorService delegate, int maxConcurrency) {
+            this.delegate = delegate;
+            this.permits = new Semaphore(maxConcurrency);
+        }
+
+        @Override
+        public void execute(Runnable task) {
+            if (delegate.isShutdown()) {
+                throw new TaskRejectedException("repositoryExecutor has been shut down");
+            }
+            delegate.execute(() -> {
+                permits.acquireUninterruptibly();
+                try {
+                    task.run();
+                } finally {
+                    permits.release();
+                }
+            });
+        }
+
+        @Override
+        public void destroy() throws InterruptedException {
+            delegate.shutdown();
+            delegate.awaitTermination(30, TimeUnit.SECONDS);
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package com.example.springdatajpa.config;
+
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+
+// UUID.randomUUID()는 공유 SecureRandom을 사용하므로 동시 insert/update 가 많으면 경합이 생긴다.
+// 감사(auditing) 식별자는 보안 난수가 필요 없으므로 스레드별 난수로 버전 4 UUID를 만든다.
+public final class AuditorIds {
+    private AuditorIds() {
+    }
+
+    public static UUID next() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        long mostSigBits = (random.nextLong() & ~0xF000L) | 0x4000L;                        // version 4
+        long leastSigBits = (random.nextLong() & ~(0xC000L << 48)) | (0x8000L << 48);      // IETF variant
+        return new UUID(mostSigBits, leastSigBits);
+    }
+}
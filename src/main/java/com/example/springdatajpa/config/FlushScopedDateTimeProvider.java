@@ -0,0 +1,71 @@
+package com.example.springdatajpa.config;
+
+import org.hibernate.BaseSessionEventListener;
+import org.springframework.data.auditing.DateTimeProvider;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.time.temporal.TemporalAccessor;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Optional;
+
+// 감사 시각을 엔티티마다 구하지 않고 flush 단위로 한 번만 구한다.
+// 처음 요청된 시각을 세션(ResetListener)에 보관하고, 세션의 flush/트랜잭션 종료 시점에 초기화한다.
+// 같은 flush 에서 insert/update 되는 엔티티는 같은 createdDate/lastModifiedDate 를 갖는다.
+// 시각은 스레드가 아니라 세션에 보관하므로 풀의 스레드(repositoryExecutor 등)가 이전 세션의 시각을 재사용하지 않는다.
+// 열린 세션이 없으면 매번 현재 시각을 사용한다.
+@Component("flushScopedDateTimeProvider")
+public class FlushScopedDateTimeProvider implements DateTimeProvider {
+    // 현재 스레드에서 열린 세션 (REQUIRES_NEW 처럼 세션이 겹치면 마지막에 열린 세션이 위)
+    private static final ThreadLocal<Deque<ResetListener>> SESSIONS = ThreadLocal.withInitial(ArrayDeque::new);
+
+    @Override
+    public Optional<TemporalAccessor> getNow() {
+        ResetListener session = currentSession();
+        return Optional.of(session == null ? LocalDateTime.now() : session.now());
+    }
+
+    private static ResetListener currentSession() {
+        Deque<ResetListener> sessions = SESSIONS.get();
+        // 다른 스레드에서 닫힌 세션은 여기서 정리한다.
+        while (!sessions.isEmpty() && sessions.peek().ended) {
+            sessions.pop();
+        }
+        return sessions.peek();
+    }
+
+    // hibernate.session.events.auto 로 세션마다 생성 (세션을 여는 스레드에서 생성된다)
+    public static class ResetListener extends BaseSessionEventListener {
+        private LocalDateTime now;
+        private volatile boolean ended;
+
+        public ResetListener() {
+            SESSIONS.get().push(this);
+        }
+
+        LocalDateTime now() {
+            if (now == null) {
+                now = LocalDateTime.now();
+            }
+            return now;
+        }
+
+        @Override
+        public void flushEnd(int numberOfEntities, int numberOfCollections) {
+            now = null;
+        }
+
+        @Override
+        public void transactionCompletion(boolean successful) {
+            now = null;
+        }
+
+        @Override
+        public void end() {
+            now = null;
+            ended = true;
+            SESSIONS.get().remove(this);
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package com.example.springdatajpa.controller;
+
+import com.example.springdatajpa.dto.BulkJobProgress;
+import com.example.springdatajpa.service.ChunkedBulkUpdateExecutor;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@RestController
+@RequiredArgsConstructor
+public class BulkJobController {
+    private final ChunkedBulkUpdateExecutor chunkedBulkUpdateExecutor;
+
+    // 청크 벌크 작업별 진행률 (처리 건수, 남은 청크 수, 초당 처리 건수)
+    @GetMapping("/admin/bulk-jobs")
+    public List<BulkJobProgress> bulkJobs() {
+        return chunkedBulkUpdateExecutor.progress();
+    }
+}
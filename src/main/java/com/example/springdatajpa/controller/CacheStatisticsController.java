@@ -0,0 +1,38 @@
+package com.example.springdatajpa.controller;
+
+import com.example.springdatajpa.dto.CacheRegionStatsDto;
+import com.example.springdatajpa.dto.QueryPlanCacheStatsDto;
+import com.example.springdatajpa.monitoring.QueryPlanCacheMonitor;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import javax.persistence.EntityManagerFactory;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+@RestController
+@RequiredArgsConstructor
+public class CacheStatisticsController {
+    private final EntityManagerFactory entityManagerFactory;
+    private final QueryPlanCacheMonitor queryPlanCacheMonitor;
+
+    // 2차 캐시 리전별 hit/miss/put 통계
+    @GetMapping("/admin/cache")
+    public List<CacheRegionStatsDto> cacheStatistics() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        return Arrays.stream(statistics.getSecondLevelCacheRegionNames())
+                     .sorted()
+                     .map(region -> new CacheRegionStatsDto(region, statistics.getDomainDataRegionStatistics(region)))
+                     .collect(Collectors.toList());
+    }
+
+    // 쿼리 plan 캐시 크기/hit ratio/eviction
+    @GetMapping("/admin/cache/query-plan")
+    public QueryPlanCacheStatsDto queryPlanCache() {
+        return queryPlanCacheMonitor.snapshot();
+    }
+}
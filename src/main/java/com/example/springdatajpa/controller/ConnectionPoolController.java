@@ -0,0 +1,31 @@
+package com.example.springdatajpa.controller;
+
+import com.example.springdatajpa.datasource.AdaptivePoolSizer;
+import com.example.springdatajpa.monitoring.ConnectionPoolMetrics;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@RestController
+@RequiredArgsConstructor
+public class ConnectionPoolController {
+    private final ConnectionPoolMetrics connectionPoolMetrics;
+    private final ObjectProvider<AdaptivePoolSizer> adaptivePoolSizer;
+
+    // 풀별 active/idle/pending, 획득 대기/점유 시간 히스토그램, 점유 시간이 긴 "경로 | 리포지토리 메서드"
+    @GetMapping("/admin/pools")
+    public List<ConnectionPoolMetrics.PoolSnapshot> pools(@RequestParam(defaultValue = "20") int top) {
+        return connectionPoolMetrics.snapshot(top);
+    }
+
+    // 풀 크기 자동 조절 이력 (app.datasource.adaptive-pool.enabled=false 면 빈 목록)
+    @GetMapping("/admin/pools/adaptive")
+    public List<AdaptivePoolSizer.Decision> adaptiveDecisions() {
+        AdaptivePoolSizer sizer = adaptivePoolSizer.getIfAvailable();
+        return sizer == null ? List.of() : sizer.decisions();
+    }
+}
@@ -0,0 +1,22 @@
+package com.example.springdatajpa.controller;
+
+import com.example.springdatajpa.datasource.ReadWriteRoutingDataSource;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.Map;
+
+@RestController
+@RequiredArgsConstructor
+public class DataSourceController {
+    private final ObjectProvider<ReadWriteRoutingDataSource> routingDataSource;
+
+    // primary/replica 커넥션 사용 횟수 (읽기/쓰기 분리를 사용하지 않으면 빈 값)
+    @GetMapping("/admin/datasource/routing")
+    public Map<ReadWriteRoutingDataSource.Route, Long> routing() {
+        ReadWriteRoutingDataSource dataSource = routingDataSource.getIfAvailable();
+        return dataSource == null ? Map.of() : dataSource.checkoutCounts();
+    }
+}
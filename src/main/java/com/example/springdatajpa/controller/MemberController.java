@@ -1,46 +1,178 @@
 package com.example.springdatajpa.controller;
 
+import com.example.springdatajpa.dto.CursorResponse;
 import com.example.springdatajpa.dto.MemberDto;
+import com.example.springdatajpa.dto.PageVersion;
+import com.example.springdatajpa.dto.ResourceVersion;
 import com.example.springdatajpa.entity.Member;
+import com.example.springdatajpa.repository.InvalidCursorException;
+import com.example.springdatajpa.repository.InvalidSortException;
+import com.example.springdatajpa.repository.MemberCursor;
 import com.example.springdatajpa.repository.MemberRepository;
+import com.example.springdatajpa.service.MemberExportService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.task.TaskRejectedException;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
 import javax.annotation.PostConstruct;
+import javax.servlet.http.HttpServletResponse;
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Slf4j
 @RestController
 @RequiredArgsConstructor
 public class MemberController {
+    private static final int MAX_CURSOR_PAGE_SIZE = 3000; // spring.data.web.pageable.max-page-size 와 동일
+
     private final MemberRepository memberRepository;
+    private final MemberExportService memberExportService;
 
+    // 조건부 GET : version, lastModifiedDate 만 먼저 조회해서 If-None-Match / If-Modified-Since 가 맞으면
+    // 엔티티를 조회하지 않고 304 로 응답한다. (null 반환, 응답 본문 없음)
+    // 검증값을 본문보다 먼저 읽으므로 그 사이에 수정되면 이전 ETag 가 나가고, 다음 요청에서 다시 200 을 받는다.
     @GetMapping("/api/v1/members/{id}")
-    public String findMemberNameV1(@PathVariable Long id) {
+    public String findMemberNameV1(@PathVariable Long id, WebRequest request) {
+        if (isNotModified(memberRepository.findMemberVersion(id).orElse(null), request)) {
+            return null;
+        }
         Member findMember = memberRepository.findById(id).get();
         return findMember.getUsername();
     }
 
+    // 도메인 클래스 컨버터(@PathVariable("id") Member)는 검증 전에 엔티티를 로딩하므로 id 로 받는다.
     @GetMapping("/api/v2/members/{id}")
-    public String findMemberNameV2(@PathVariable("id") Member member) {
+    public String findMemberNameV2(@PathVariable Long id, WebRequest request) {
+        if (isNotModified(memberRepository.findMemberVersion(id).orElse(null), request)) {
+            return null;
+        }
+        Member member = memberRepository.findById(id).get();
         return member.getUsername();
     }
 
+    // 페이지 : 검증값 조회(id/version + count)만으로 304, 아니면 본문만 조회하고 전체 건수는 검증값의 것을 사용
+    // (304 : 쿼리 2번, 200 : 쿼리 3번 / 첫 페이지나 마지막 페이지는 count 생략)
     @GetMapping("/api/members")
-    public Page<Member> findAllMembersPagination(Pageable pageable) {
-        return memberRepository.findAll(pageable);
+    public Page<Member> findAllMembersPagination(Pageable pageable, WebRequest request) {
+        PageVersion version = memberRepository.findMembersPageVersion(pageable);
+        if (isNotModified(version, request)) {
+            return null;
+        }
+        return new PageImpl<>(memberRepository.findMemberListBy(version.getPageable()), version.getPageable(),
+                              version.getTotal());
     }
 
+    // 엔티티를 조회해서 변환하지 않고 DTO로 바로 조회 (팀 이름 포함)
+    // 팀 이름이 바뀌면 팀 version 이 올라가므로 같은 페이지 검증값을 사용할 수 있다.
     @GetMapping("/api/v2/members")
-    public Page<MemberDto> findAllMembersPaginationConvertMemberDto(Pageable pageable) {
-        return memberRepository.findAll(pageable)
-                                .map(member -> new MemberDto(member.getId(), member.getUsername(), null));
+    public Page<MemberDto> findAllMembersPaginationConvertMemberDto(Pageable pageable, WebRequest request) {
+        PageVersion version = memberRepository.findMembersPageVersion(pageable);
+        if (isNotModified(version, request)) {
+            return null;
+        }
+        return new PageImpl<>(memberRepository.findMemberDtoList(version.getPageable()), version.getPageable(),
+                              version.getTotal());
+    }
+
+    // 304 면 true, 아니면 응답에 ETag / Last-Modified 헤더를 붙이고 false
+    // 회원이 없으면 검증하지 않고 기존 응답 그대로 처리
+    private boolean isNotModified(ResourceVersion version, WebRequest request) {
+        return version != null && request.checkNotModified(version.getEtag(), version.getLastModified());
+    }
+
+    // Keyset(seek) 페이징 : cursor 파라미터가 있으면 offset 대신 커서로 조회 (첫 페이지는 cursor= 빈 값)
+    // ex) /api/members?cursor=&sort=username&direction=desc&size=30 -> 응답의 nextCursor로 다음 페이지 조회
+    @GetMapping(value = "/api/members", params = "cursor")
+    public CursorResponse<Member> findAllMembersCursor(@RequestParam String cursor,
+                                                       @RequestParam(required = false) Integer age,
+                                                       @RequestParam(defaultValue = "id") String sort,
+                                                       @RequestParam(defaultValue = "ASC") Sort.Direction direction,
+                                                       @RequestParam(defaultValue = "30") int size) {
+        return findMembersByCursor(cursor, age, sort, direction, size, Function.identity());
+    }
+
+    @GetMapping(value = "/api/v2/members", params = "cursor")
+    public CursorResponse<MemberDto> findAllMembersCursorConvertMemberDto(@RequestParam String cursor,
+                                                                          @RequestParam(required = false) Integer age,
+                                                                          @RequestParam(defaultValue = "id") String sort,
+                                                                          @RequestParam(defaultValue = "ASC") Sort.Direction direction,
+                                                                          @RequestParam(defaultValue = "30") int size) {
+        return findMembersByCursor(cursor, age, sort, direction, size,
+                member -> new MemberDto(member.getId(), member.getUsername(), null));
+    }
+
+    private <T> CursorResponse<T> findMembersByCursor(String encodedCursor, Integer age, String sort,
+                                                      Sort.Direction direction, int size, Function<Member, T> converter) {
+        MemberCursor cursor = MemberCursor.decode(encodedCursor, sort, direction);
+        int pageSize = Math.max(1, Math.min(size, MAX_CURSOR_PAGE_SIZE));
+
+        Slice<Member> slice = age == null
+                ? memberRepository.findMembersByCursor(cursor, pageSize)
+                : memberRepository.findMembersSliceByAgeAndCursor(age, cursor, pageSize);
+
+        List<Member> content = slice.getContent();
+        String nextCursor = slice.hasNext() ? cursor.next(content.get(content.size() - 1)).encode() : null;
+        return new CursorResponse<>(content.stream().map(converter).collect(Collectors.toList()), nextCursor, slice.hasNext());
+    }
+
+    // 회원 전체 NDJSON 내보내기 : 조회되는 대로 응답에 바로 쓴다.
+    @GetMapping(value = "/api/members/export", produces = "application/x-ndjson")
+    public void exportMembers(HttpServletResponse response) throws IOException {
+        response.setContentType("application/x-ndjson");
+        response.setCharacterEncoding("UTF-8");
+        memberExportService.exportNdjson(new BufferedOutputStream(response.getOutputStream()));
     }
 
+    // 비동기 조회 : 톰캣 요청 스레드는 바로 반환되고, 응답은 repositoryExecutor 에서 조회가 끝나면 완료된다.
+    @GetMapping("/api/async/members")
+    public CompletableFuture<List<MemberDto>> findMembersByUsernameAsync(@RequestParam String username) {
+        return memberRepository.findAsyncByUsername(username)
+                .thenApply(members -> members.stream()
+                        .map(member -> new MemberDto(member.getId(), member.getUsername(), null))
+                        .collect(Collectors.toList()));
+    }
+
+    @GetMapping("/api/async/members/age/{age}")
+    public CompletableFuture<Page<MemberDto>> findMembersPageByAgeAsync(@PathVariable int age, Pageable pageable) {
+        return memberRepository.findAsyncPageByAge(age, pageable)
+                .thenApply(page -> page.map(member -> new MemberDto(member.getId(), member.getUsername(), null)));
+    }
+
+    @GetMapping("/api/async/members/dto")
+    public CompletableFuture<List<MemberDto>> findMemberDtoAsync() {
+        return memberRepository.findAsyncMemberDto();
+    }
+
+    // 잘못된 커서 문자열, 커서 페이징을 지원하지 않는 정렬조건
+    @ExceptionHandler({InvalidCursorException.class, InvalidSortException.class})
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    public String badRequest(IllegalArgumentException e) {
+        return e.getMessage();
+    }
+
+    // repositoryExecutor 대기 큐가 가득 찬 경우
+    @ExceptionHandler(TaskRejectedException.class)
+    @ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+    public String repositoryExecutorBusy() {
+        return "too many concurrent requests";
+    }
 
     //@PostConstruct
     private void init() {
@@ -0,0 +1,20 @@
+package com.example.springdatajpa.controller;
+
+import com.example.springdatajpa.monitoring.OptimisticLockMetrics;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.Map;
+
+@RestController
+@RequiredArgsConstructor
+public class OptimisticLockController {
+    private final OptimisticLockMetrics optimisticLockMetrics;
+
+    // 엔티티 타입별 낙관적 락 충돌/재시도/포기 횟수
+    @GetMapping("/admin/optimistic-locks")
+    public Map<String, OptimisticLockMetrics.EntitySnapshot> optimisticLocks() {
+        return optimisticLockMetrics.snapshot();
+    }
+}
@@ -0,0 +1,23 @@
+package com.example.springdatajpa.controller;
+
+import com.example.springdatajpa.monitoring.RepositoryMethodMetrics;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@RestController
+@RequiredArgsConstructor
+public class RepositoryMetricsController {
+    private final RepositoryMethodMetrics repositoryMethodMetrics;
+
+    // 리포지토리 메서드별 호출/예외/row 수, 지연시간 p50/p99/p999
+    // sort : total(총 소요시간, 기본), p99, calls, errors, rows
+    @GetMapping("/admin/repository-metrics")
+    public List<RepositoryMethodMetrics.MethodSnapshot> repositoryMetrics(@RequestParam(defaultValue = "total") String sort,
+                                                                          @RequestParam(defaultValue = "50") int top) {
+        return repositoryMethodMetrics.snapshot(sort, top);
+    }
+}
@@ -0,0 +1,27 @@
+package com.example.springdatajpa.controller;
+
+import com.example.springdatajpa.monitoring.SlowQueryRecorder;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@RestController
+@RequiredArgsConstructor
+public class SlowQueryController {
+    private final SlowQueryRecorder slowQueryRecorder;
+
+    // 느린 SQL 모양별 횟수/총 소요시간(내림차순), 처음 호출한 리포지토리 메서드, 실행 계획
+    @GetMapping("/admin/slow-queries")
+    public List<SlowQueryRecorder.ShapeSnapshot> slowQueries(@RequestParam(defaultValue = "20") int top) {
+        return slowQueryRecorder.topShapes(top);
+    }
+
+    // 최근 느린 SQL (바인딩 값 포함, 최신순)
+    @GetMapping("/admin/slow-queries/recent")
+    public List<SlowQueryRecorder.SlowQuery> recentSlowQueries(@RequestParam(defaultValue = "100") int limit) {
+        return slowQueryRecorder.recent(limit);
+    }
+}
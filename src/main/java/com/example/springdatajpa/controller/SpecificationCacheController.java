@@ -0,0 +1,20 @@
+package com.example.springdatajpa.controller;
+
+import com.example.springdatajpa.repository.SpecificationQueryCache;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@RestController
+@RequiredArgsConstructor
+public class SpecificationCacheController {
+    private final SpecificationQueryCache specificationQueryCache;
+
+    // Specification 구조(shapeKey)별 JPQL 캐시 hit/miss
+    @GetMapping("/admin/specification-cache")
+    public List<SpecificationQueryCache.ShapeSnapshot> specificationCache() {
+        return specificationQueryCache.snapshot();
+    }
+}
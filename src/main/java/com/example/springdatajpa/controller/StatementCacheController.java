@@ -0,0 +1,20 @@
+package com.example.springdatajpa.controller;
+
+import com.example.springdatajpa.datasource.StatementCacheRegistry;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@RestController
+@RequiredArgsConstructor
+public class StatementCacheController {
+    private final StatementCacheRegistry statementCacheRegistry;
+
+    // SQL별 PreparedStatement 캐시 hit/miss/eviction
+    @GetMapping("/admin/statement-cache")
+    public List<StatementCacheRegistry.ShapeSnapshot> statementCache() {
+        return statementCacheRegistry.snapshot();
+    }
+}
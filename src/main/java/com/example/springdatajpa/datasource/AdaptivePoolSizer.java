@@ -0,0 +1,122 @@
+package com.example.springdatajpa.datasource;
+
+import com.example.springdatajpa.monitoring.ConnectionPoolMetrics;
+import com.example.springdatajpa.monitoring.LatencyHistogram;
+import com.zaxxer.hikari.HikariConfigMXBean;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+// 커넥션 획득 대기시간을 보고 풀 크기(maximumPoolSize)를 [min-size, max-size] 안에서 조절한다.
+// interval 동안의 평균 대기시간이 grow-wait 이상이거나 대기 스레드가 있으면 step 만큼 늘리고,
+// shrink-wait 미만이고 놀고 있는 커넥션이 step 보다 많으면 1 줄인다. (줄일 때는 천천히)
+// Hikari 는 maximumPoolSize 를 실행 중에 바꿀 수 있다. (HikariConfigMXBean)
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "app.datasource.adaptive-pool.enabled", havingValue = "true")
+public class AdaptivePoolSizer {
+    private static final int MAX_DECISIONS = 50;
+
+    private final ConnectionPoolMetrics connectionPoolMetrics;
+    private final int minSize;
+    private final int maxSize;
+    private final int step;
+    private final long growWaitNanos;
+    private final long shrinkWaitNanos;
+    private final Map<String, long[]> previous = new ConcurrentHashMap<>();   // 풀별 직전 (획득 수, 대기시간 합계)
+    private final List<Decision> decisions = new CopyOnWriteArrayList<>();
+
+    public AdaptivePoolSizer(ConnectionPoolMetrics connectionPoolMetrics,
+                             @Value("${app.datasource.adaptive-pool.min-size:5}") int minSize,
+                             @Value("${app.datasource.adaptive-pool.max-size:30}") int maxSize,
+                             @Value("${app.datasource.adaptive-pool.step:2}") int step,
+                             @Value("${app.datasource.adaptive-pool.grow-wait:5ms}") Duration growWait,
+                             @Value("${app.datasource.adaptive-pool.shrink-wait:100us}") Duration shrinkWait) {
+        this.connectionPoolMetrics = connectionPoolMetrics;
+        this.minSize = minSize;
+        this.maxSize = maxSize;
+        this.step = step;
+        this.growWaitNanos = growWait.toNanos();
+        this.shrinkWaitNanos = shrinkWait.toNanos();
+    }
+
+    @Scheduled(fixedDelayString = "${app.datasource.adaptive-pool.interval:10s}")
+    public void adjust() {
+        for (ConnectionPoolMetrics.PoolSnapshot pool : connectionPoolMetrics.snapshot(0)) {
+            connectionPoolMetrics.config(pool.getPoolName())
+                                 .ifPresent(config -> adjust(pool.getPoolName(), pool, config));
+        }
+    }
+
+    private void adjust(String poolName, ConnectionPoolMetrics.PoolSnapshot pool, HikariConfigMXBean config) {
+        LatencyHistogram acquire = connectionPoolMetrics.pool(poolName).get().getAcquire();
+        long count = acquire.count();
+        long totalNanos = acquire.totalNanos();
+        long[] last = previous.put(poolName, new long[]{count, totalNanos});
+        if (last == null || count == last[0]) {
+            return;   // 첫 측정이거나 구간 동안 획득이 없음
+        }
+        long meanWaitNanos = (totalNanos - last[1]) / (count - last[0]);
+
+        int current = config.getMaximumPoolSize();
+        int next = nextSize(current, meanWaitNanos, pool.getPending(), pool.getIdle());
+        if (next == current) {
+            return;
+        }
+        if (config.getMinimumIdle() > next) {
+            config.setMinimumIdle(next);
+        }
+        config.setMaximumPoolSize(next);
+
+        Decision decision = new Decision(poolName, current, next, meanWaitNanos / 1000.0, pool.getPending(), pool.getIdle());
+        decisions.add(decision);
+        if (decisions.size() > MAX_DECISIONS) {
+            decisions.remove(0);
+        }
+        log.info("pool [{}] resized {} -> {} (mean acquire wait {}us, pending {}, idle {})",
+                 poolName, current, next, decision.getMeanWaitMicros(), pool.getPending(), pool.getIdle());
+    }
+
+    int nextSize(int current, long meanWaitNanos, int pending, int idle) {
+        if (meanWaitNanos >= growWaitNanos || pending > 0) {
+            return Math.min(maxSize, current + step);
+        }
+        if (meanWaitNanos < shrinkWaitNanos && idle > step) {
+            return Math.max(minSize, current - 1);
+        }
+        return Math.max(minSize, Math.min(maxSize, current));
+    }
+
+    // 최근 조절 이력
+    public List<Decision> decisions() {
+        return List.copyOf(decisions);
+    }
+
+    @Getter
+    public static class Decision {
+        private final String poolName;
+        private final int from;
+        private final int to;
+        private final double meanWaitMicros;
+        private final int pending;
+        private final int idle;
+
+        Decision(String poolName, int from, int to, double meanWaitMicros, int pending, int idle) {
+            this.poolName = poolName;
+            this.from = from;
+            this.to = to;
+            this.meanWaitMicros = meanWaitMicros;
+            this.pending = pending;
+            this.idle = idle;
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package com.example.springdatajpa.datasource;
+
+import com.example.springdatajpa.monitoring.ConnectionPoolMetrics;
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.stereotype.Component;
+
+// 모든 HikariDataSource 에 ConnectionPoolMetrics 를 MetricsTrackerFactory 로 등록한다.
+// 풀 이름이 없으면 빈 이름을 사용한다. (Hikari 기본값 HikariPool-1 은 어떤 DataSource 인지 알 수 없다)
+@Component
+public class PoolMetricsDataSourcePostProcessor implements BeanPostProcessor {
+    private final ObjectProvider<ConnectionPoolMetrics> metrics;
+
+    public PoolMetricsDataSourcePostProcessor(ObjectProvider<ConnectionPoolMetrics> metrics) {
+        this.metrics = metrics;
+    }
+
+    @Override
+    public Object postProcessBeforeInitialization(Object bean, String beanName) {
+        if (bean instanceof HikariDataSource) {
+            HikariDataSource hikari = (HikariDataSource) bean;
+            if (hikari.getPoolName() == null) {
+                hikari.setPoolName(beanName);
+            }
+            if (hikari.getMetricsTrackerFactory() == null) {
+                ConnectionPoolMetrics connectionPoolMetrics = metrics.getObject();
+                hikari.setMetricsTrackerFactory(connectionPoolMetrics);
+                connectionPoolMetrics.register(hikari.getPoolName(), hikari.getHikariConfigMXBean());
+            }
+        }
+        return bean;
+    }
+}
@@ -0,0 +1,57 @@
+package com.example.springdatajpa.datasource;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+// @Transactional(readOnly = true) 이면 replica, 그 외에는 primary 커넥션을 사용한다.
+// LazyConnectionDataSourceProxy 뒤에 두어야 트랜잭션의 readOnly 여부가 정해진 뒤(첫 statement 시점)에 라우팅된다.
+public class ReadWriteRoutingDataSource extends AbstractRoutingDataSource {
+    public enum Route { PRIMARY, REPLICA }
+
+    private final long readYourWritesWindowNanos;
+    private final Map<Route, LongAdder> checkouts = new EnumMap<>(Route.class);
+    private volatile long lastWriteNanos;
+
+    public ReadWriteRoutingDataSource(Duration readYourWritesWindow) {
+        this.readYourWritesWindowNanos = readYourWritesWindow.toNanos();
+        for (Route route : Route.values()) {
+            checkouts.put(route, new LongAdder());
+        }
+        this.lastWriteNanos = System.nanoTime() - readYourWritesWindowNanos;
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        boolean readOnly = TransactionSynchronizationManager.isCurrentTransactionReadOnly();
+        Route route = readOnly && !withinReadYourWritesWindow() ? Route.REPLICA : Route.PRIMARY;
+
+        if (!readOnly && TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    lastWriteNanos = System.nanoTime();
+                }
+            });
+        }
+        checkouts.get(route).increment();
+        return route;
+    }
+
+    // 쓰기 커밋 직후 window 동안은 읽기도 primary로 보내서 replica 복제 지연으로 방금 쓴 데이터를 못 읽는 일을 막는다.
+    // (애플리케이션 전체 기준, window가 0 이면 사용하지 않음)
+    private boolean withinReadYourWritesWindow() {
+        return readYourWritesWindowNanos > 0 && System.nanoTime() - lastWriteNanos < readYourWritesWindowNanos;
+    }
+
+    public Map<Route, Long> checkoutCounts() {
+        Map<Route, Long> counts = new EnumMap<>(Route.class);
+        checkouts.forEach((route, count) -> counts.put(route, count.sum()));
+        return counts;
+    }
+}
@@ -0,0 +1,37 @@
+package com.example.springdatajpa.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.util.DriverDataSource;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+// Hikari가 물리 커넥션을 만들 때 StatementCachingDataSource를 거치도록 설정한다.
+// p6spy 등 DataSource 데코레이터는 초기화 이후(after)에 감싸므로 여기서는 순수 HikariDataSource를 받는다.
+@Component
+@ConditionalOnProperty(name = "app.datasource.statement-cache.enabled", havingValue = "true")
+public class StatementCacheDataSourcePostProcessor implements BeanPostProcessor {
+    private final ObjectProvider<StatementCacheRegistry> registry;
+    private final Environment environment;
+
+    public StatementCacheDataSourcePostProcessor(ObjectProvider<StatementCacheRegistry> registry, Environment environment) {
+        this.registry = registry;
+        this.environment = environment;
+    }
+
+    @Override
+    public Object postProcessBeforeInitialization(Object bean, String beanName) {
+        if (bean instanceof HikariDataSource) {
+            HikariDataSource hikari = (HikariDataSource) bean;
+            if (hikari.getDataSource() == null) {
+                DriverDataSource driver = new DriverDataSource(hikari.getJdbcUrl(), hikari.getDriverClassName(),
+                        hikari.getDataSourceProperties(), hikari.getUsername(), hikari.getPassword());
+                int maxSize = environment.getProperty("app.datasource.statement-cache.max-size", Integer.class, 250);
+                hikari.setDataSource(new StatementCachingDataSource(driver, maxSize, registry.getObject()));
+            }
+        }
+        return bean;
+    }
+}
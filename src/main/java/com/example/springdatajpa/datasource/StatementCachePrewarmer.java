@@ -0,0 +1,77 @@
+package com.example.springdatajpa.datasource;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.support.Repositories;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+import javax.persistence.EntityManagerFactory;
+import javax.persistence.NamedQuery;
+import javax.persistence.metamodel.EntityType;
+import java.lang.reflect.Method;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+// @Query, @NamedQuery 에 정의된 쿼리를 SQL로 변환해서 커넥션마다 미리 prepare 해둔다.
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "app.datasource.statement-cache.prewarm", havingValue = "true")
+public class StatementCachePrewarmer {
+    private final ApplicationContext applicationContext;
+    private final EntityManagerFactory entityManagerFactory;
+    private final StatementCacheRegistry registry;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void prewarm() {
+        SessionFactoryImplementor sessionFactory = entityManagerFactory.unwrap(SessionFactoryImplementor.class);
+        Set<String> sqls = new LinkedHashSet<>();
+
+        // @NamedQuery (ex. Member.findByUsername)
+        for (EntityType<?> entity : entityManagerFactory.getMetamodel().getEntities()) {
+            for (NamedQuery namedQuery : AnnotatedElementUtils.findMergedRepeatableAnnotations(entity.getJavaType(), NamedQuery.class)) {
+                addJpql(sessionFactory, namedQuery.query(), sqls);
+            }
+        }
+
+        // 리포지토리 메서드의 @Query
+        Repositories repositories = new Repositories(applicationContext);
+        for (Class<?> domainType : repositories) {
+            Class<?> repositoryInterface = repositories.getRequiredRepositoryInformation(domainType).getRepositoryInterface();
+            for (Method method : repositoryInterface.getMethods()) {
+                Query query = AnnotatedElementUtils.findMergedAnnotation(method, Query.class);
+                if (query == null || !StringUtils.hasText(query.value())) {
+                    continue;
+                }
+                if (query.nativeQuery()) {
+                    sqls.add(query.value());
+                } else {
+                    addJpql(sessionFactory, query.value(), sqls);
+                }
+            }
+        }
+
+        registry.registerPrewarmSql(sqls);
+        log.info("statement cache prewarm registered, statements={}", sqls.size());
+    }
+
+    private void addJpql(SessionFactoryImplementor sessionFactory, String jpql, Set<String> sqls) {
+        try {
+            String[] translated = sessionFactory.getQueryPlanCache()
+                                                .getHQLQueryPlan(jpql, false, Collections.emptyMap())
+                                                .getSqlStrings();
+            Collections.addAll(sqls, translated);
+        } catch (RuntimeException e) {
+            log.debug("statement prewarm skipped, jpql={}, reason={}", jpql, e.getMessage());
+        }
+    }
+}
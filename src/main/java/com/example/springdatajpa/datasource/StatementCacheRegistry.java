@@ -0,0 +1,94 @@
+package com.example.springdatajpa.datasource;
+
+import lombok.Getter;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+
+// PreparedStatement 캐시의 SQL별 hit/miss/eviction 카운터와 prewarm 대상 SQL을 관리
+@Component
+public class StatementCacheRegistry {
+    private final Map<String, ShapeStats> stats = new ConcurrentHashMap<>();
+    private volatile List<String> prewarmSql = List.of();
+    private volatile int prewarmVersion = 0;
+
+    void hit(String sql) {
+        statsOf(sql).hits.increment();
+    }
+
+    void miss(String sql) {
+        statsOf(sql).misses.increment();
+    }
+
+    void evict(String sql) {
+        statsOf(sql).evictions.increment();
+    }
+
+    void prewarm(String sql) {
+        statsOf(sql).prewarms.increment();
+    }
+
+    // 새 SQL 목록이 등록되면 버전이 바뀌고, 각 커넥션은 다음 사용 시점에 prewarm 한다.
+    public synchronized void registerPrewarmSql(Collection<String> sqls) {
+        this.prewarmSql = List.copyOf(sqls);
+        this.prewarmVersion++;
+    }
+
+    List<String> prewarmSql() {
+        return prewarmSql;
+    }
+
+    int prewarmVersion() {
+        return prewarmVersion;
+    }
+
+    public List<ShapeSnapshot> snapshot() {
+        return stats.entrySet().stream()
+                    .map(e -> new ShapeSnapshot(e.getKey(), e.getValue()))
+                    .sorted(Comparator.comparingLong(ShapeSnapshot::getRequests).reversed())
+                    .collect(Collectors.toList());
+    }
+
+    private ShapeStats statsOf(String sql) {
+        return stats.computeIfAbsent(sql, key -> new ShapeStats());
+    }
+
+    private static class ShapeStats {
+        final LongAdder hits = new LongAdder();
+        final LongAdder misses = new LongAdder();
+        final LongAdder evictions = new LongAdder();
+        final LongAdder prewarms = new LongAdder();
+    }
+
+    @Getter
+    public static class ShapeSnapshot {
+        private final String sql;
+        private final long hits;
+        private final long misses;
+        private final long evictions;
+        private final long prewarms;
+
+        ShapeSnapshot(String sql, ShapeStats stats) {
+            this.sql = sql;
+            this.hits = stats.hits.sum();
+            this.misses = stats.misses.sum();
+            this.evictions = stats.evictions.sum();
+            this.prewarms = stats.prewarms.sum();
+        }
+
+        public long getRequests() {
+            return hits + misses;
+        }
+
+        public double getHitRatio() {
+            long requests = getRequests();
+            return requests == 0 ? 0 : (double) hits / requests;
+        }
+    }
+}
@@ -0,0 +1,262 @@
+package com.example.springdatajpa.datasource;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+// 물리 커넥션 하나에 붙는 PreparedStatement LRU 캐시
+// - 캐시에 있는 statement는 사용 중이 아닌 것만 들어있다. (꺼내 쓰면 캐시에서 빠지고 close 시점에 다시 들어온다)
+// - close()는 실제로 닫지 않고 파라미터 등을 초기화한 뒤 캐시에 반납한다.
+//   fetchSize, maxRows 등 statement 설정은 처음 만들 때의 드라이버 기본값으로 되돌린다. (다음 사용자가 물려받지 않도록)
+// - 최대 개수를 넘으면 가장 오래 사용하지 않은 statement를 실제로 닫는다.
+@Slf4j
+class StatementCachingConnection implements InvocationHandler {
+    private final Connection target;
+    private final Connection proxy;
+    private final int maxSize;
+    private final StatementCacheRegistry registry;
+    private final LinkedHashMap<String, PreparedStatement> cache;
+    private final Map<PreparedStatement, StatementDefaults> defaults = new IdentityHashMap<>();
+    private int prewarmedVersion = -1;
+
+    private StatementCachingConnection(Connection target, int maxSize, StatementCacheRegistry registry) {
+        this.target = target;
+        this.maxSize = maxSize;
+        this.registry = registry;
+        this.cache = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, PreparedStatement> eldest) {
+                if (size() <= StatementCachingConnection.this.maxSize) {
+                    return false;
+                }
+                closeQuietly(eldest.getValue());
+                StatementCachingConnection.this.registry.evict(eldest.getKey());
+                return true;
+            }
+        };
+        this.proxy = (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(),
+                                                         new Class<?>[]{Connection.class}, this);
+    }
+
+    static Connection wrap(Connection target, int maxSize, StatementCacheRegistry registry) {
+        StatementCachingConnection handler = new StatementCachingConnection(target, maxSize, registry);
+        handler.prewarmIfNecessary();  // 커넥션 생성 시점에 prewarm
+        return handler.proxy;
+    }
+
+    @Override
+    public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+        String name = method.getName();
+        if ("prepareStatement".equals(name) && isCacheable(args)) {
+            prewarmIfNecessary();
+            return prepareStatement(args);
+        }
+        if ("close".equals(name)) {
+            closeAll();
+        }
+        if ("equals".equals(name)) {
+            return proxy == args[0];
+        }
+        if ("hashCode".equals(name)) {
+            return System.identityHashCode(proxy);
+        }
+        // unwrap 등 나머지는 실제 커넥션으로 전달
+        return invokeTarget(target, method, args);
+    }
+
+    // prepareStatement(sql), prepareStatement(sql, resultSetType, resultSetConcurrency) 만 캐시
+    private boolean isCacheable(Object[] args) {
+        if (args.length == 1) {
+            return true;
+        }
+        return args.length == 3 && args[1] instanceof Integer && args[2] instanceof Integer;
+    }
+
+    private synchronized PreparedStatement prepareStatement(Object[] args) throws SQLException {
+        String sql = (String) args[0];
+        String key = args.length == 1 ? sql : args[1] + ":" + args[2] + ":" + sql;
+
+        PreparedStatement statement = cache.remove(key);
+        if (statement != null) {
+            registry.hit(sql);
+        } else {
+            registry.miss(sql);
+            statement = track(args.length == 1
+                    ? target.prepareStatement(sql)
+                    : target.prepareStatement(sql, (Integer) args[1], (Integer) args[2]));
+        }
+        return CachedStatement.wrap(this, key, statement);
+    }
+
+    // CachedStatement.close() 에서 호출
+    synchronized void release(String key, PreparedStatement statement) {
+        if (!reset(statement)) {
+            closeQuietly(statement);
+            return;
+        }
+        PreparedStatement previous = cache.put(key, statement);
+        if (previous != null && previous != statement) {
+            // 같은 SQL을 동시에 두 개 열었던 경우 하나만 캐시에 남긴다.
+            closeQuietly(previous);
+        }
+    }
+
+    Connection proxy() {
+        return proxy;
+    }
+
+    private synchronized void prewarmIfNecessary() {
+        int version = registry.prewarmVersion();
+        if (prewarmedVersion == version) {
+            return;
+        }
+        prewarmedVersion = version;
+
+        List<String> sqls = registry.prewarmSql();
+        for (String sql : sqls.subList(0, Math.min(sqls.size(), maxSize))) {
+            if (cache.containsKey(sql)) {
+                continue;
+            }
+            try {
+                cache.put(sql, track(target.prepareStatement(sql)));
+                registry.prewarm(sql);
+            } catch (SQLException e) {
+                log.debug("statement prewarm skipped, sql={}, reason={}", sql, e.getMessage());
+            }
+        }
+    }
+
+    private synchronized void closeAll() {
+        List<PreparedStatement> statements = new ArrayList<>(cache.values());
+        cache.clear();
+        for (PreparedStatement statement : statements) {
+            closeQuietly(statement);
+        }
+        defaults.clear();   // 빌려간 statement 는 물리 커넥션과 함께 닫힌다.
+    }
+
+    // 새로 만든 statement 의 드라이버 기본 설정을 기억해둔다.
+    private PreparedStatement track(PreparedStatement statement) throws SQLException {
+        try {
+            defaults.put(statement, new StatementDefaults(statement));
+            return statement;
+        } catch (SQLException e) {
+            statement.close();
+            throw e;
+        }
+    }
+
+    // 다음 사용자가 이전 상태를 물려받지 않도록 초기화, 실패하면 캐시하지 않는다.
+    private boolean reset(PreparedStatement statement) {
+        StatementDefaults initial = defaults.get(statement);
+        try {
+            if (initial == null || statement.isClosed()) {
+                return false;
+            }
+            statement.clearParameters();
+            statement.clearBatch();
+            statement.clearWarnings();
+            initial.restore(statement);
+            return true;
+        } catch (SQLException e) {
+            return false;
+        }
+    }
+
+    private void closeQuietly(PreparedStatement statement) {
+        defaults.remove(statement);
+        try {
+            statement.close();
+        } catch (SQLException e) {
+            log.debug("failed to close cached statement", e);
+        }
+    }
+
+    static Object invokeTarget(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getTargetException();
+        }
+    }
+
+    // prepare 시점의 statement 설정 (하이버네이트 fetch size 힌트 등으로 바뀐 값을 반납 시 되돌린다)
+    private static class StatementDefaults {
+        private final int fetchSize;
+        private final int fetchDirection;
+        private final int maxFieldSize;
+        private final int maxRows;
+        private final int queryTimeout;
+
+        StatementDefaults(PreparedStatement statement) throws SQLException {
+            this.fetchSize = statement.getFetchSize();
+            this.fetchDirection = statement.getFetchDirection();
+            this.maxFieldSize = statement.getMaxFieldSize();
+            this.maxRows = statement.getMaxRows();
+            this.queryTimeout = statement.getQueryTimeout();
+        }
+
+        void restore(PreparedStatement statement) throws SQLException {
+            statement.setFetchSize(fetchSize);
+            statement.setFetchDirection(fetchDirection);
+            statement.setMaxFieldSize(maxFieldSize);
+            statement.setMaxRows(maxRows);
+            statement.setQueryTimeout(queryTimeout);
+        }
+    }
+
+    // 캐시에서 빌려준 PreparedStatement : close() 하면 캐시로 돌아간다.
+    private static class CachedStatement implements InvocationHandler {
+        private final StatementCachingConnection owner;
+        private final String key;
+        private final PreparedStatement target;
+        private boolean closed;
+
+        private CachedStatement(StatementCachingConnection owner, String key, PreparedStatement target) {
+            this.owner = owner;
+            this.key = key;
+            this.target = target;
+        }
+
+        static PreparedStatement wrap(StatementCachingConnection owner, String key, PreparedStatement target) {
+            return (PreparedStatement) Proxy.newProxyInstance(PreparedStatement.class.getClassLoader(),
+                    new Class<?>[]{PreparedStatement.class}, new CachedStatement(owner, key, target));
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "close":
+                    if (!closed) {
+                        closed = true;
+                        owner.release(key, target);
+                    }
+                    return null;
+                case "isClosed":
+                    return closed;
+                case "getConnection":
+                    return owner.proxy();
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                default:
+                    if (closed) {
+                        throw new SQLException("PreparedStatement is closed");
+                    }
+                    return invokeTarget(target, method, args);
+            }
+        }
+    }
+}
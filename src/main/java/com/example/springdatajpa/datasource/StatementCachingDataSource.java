@@ -0,0 +1,30 @@
+package com.example.springdatajpa.datasource;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+
+// 커넥션 풀(Hikari)이 물리 커넥션을 만들 때 사용하는 DataSource
+// 물리 커넥션마다 PreparedStatement LRU 캐시를 붙인다. 풀에 반납돼도 커넥션이 살아있는 동안 캐시가 유지된다.
+public class StatementCachingDataSource extends DelegatingDataSource {
+    private final int maxSize;
+    private final StatementCacheRegistry registry;
+
+    public StatementCachingDataSource(DataSource targetDataSource, int maxSize, StatementCacheRegistry registry) {
+        super(targetDataSource);
+        this.maxSize = maxSize;
+        this.registry = registry;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return StatementCachingConnection.wrap(obtainTargetDataSource().getConnection(), maxSize, registry);
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return StatementCachingConnection.wrap(obtainTargetDataSource().getConnection(username, password), maxSize, registry);
+    }
+}
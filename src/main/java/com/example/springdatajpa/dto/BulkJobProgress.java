@@ -0,0 +1,35 @@
+package com.example.springdatajpa.dto;
+
+import com.example.springdatajpa.entity.BulkJobCheckpoint;
+import lombok.Getter;
+
+@Getter
+public class BulkJobProgress {
+    private final String jobName;
+    private final BulkJobCheckpoint.Status status;
+    private final long totalChunks;
+    private final long completedChunks;
+    private final long remainingChunks;
+    private final long processedRows;
+    private final long lastId;
+    private final long maxId;
+    private final long elapsedMillis;
+    private final double rowsPerSecond;   // 이번 실행(재시작 이후) 기준
+
+    public BulkJobProgress(BulkJobCheckpoint checkpoint, int chunkSize, long rowsThisRun, long elapsedNanos) {
+        this.jobName = checkpoint.getJobName();
+        this.status = checkpoint.getStatus();
+        this.totalChunks = chunks(checkpoint.getMaxId() - checkpoint.getMinId() + 1, chunkSize);
+        this.remainingChunks = chunks(checkpoint.getMaxId() - checkpoint.getLastId(), chunkSize);
+        this.completedChunks = checkpoint.getCompletedChunks();
+        this.processedRows = checkpoint.getProcessedRows();
+        this.lastId = checkpoint.getLastId();
+        this.maxId = checkpoint.getMaxId();
+        this.elapsedMillis = elapsedNanos / 1_000_000;
+        this.rowsPerSecond = elapsedNanos == 0 ? 0 : rowsThisRun * 1_000_000_000d / elapsedNanos;
+    }
+
+    private static long chunks(long ids, int chunkSize) {
+        return ids <= 0 ? 0 : (ids + chunkSize - 1) / chunkSize;
+    }
+}
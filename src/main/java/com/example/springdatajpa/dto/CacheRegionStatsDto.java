@@ -0,0 +1,26 @@
+package com.example.springdatajpa.dto;
+
+import lombok.Getter;
+import org.hibernate.stat.CacheRegionStatistics;
+
+@Getter
+public class CacheRegionStatsDto {
+    private final String region;
+    private final long hitCount;
+    private final long missCount;
+    private final long putCount;
+    private final long elementCountInMemory;
+
+    public CacheRegionStatsDto(String region, CacheRegionStatistics statistics) {
+        this.region = region;
+        this.hitCount = statistics.getHitCount();
+        this.missCount = statistics.getMissCount();
+        this.putCount = statistics.getPutCount();
+        this.elementCountInMemory = statistics.getElementCountInMemory();
+    }
+
+    public double getHitRatio() {
+        long requests = hitCount + missCount;
+        return requests == 0 ? 0 : (double) hitCount / requests;
+    }
+}
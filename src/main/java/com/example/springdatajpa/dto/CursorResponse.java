@@ -0,0 +1,19 @@
+package com.example.springdatajpa.dto;
+
+import lombok.Getter;
+
+import java.util.List;
+
+// Keyset 페이징 응답 : 다음 페이지는 nextCursor를 그대로 다시 보내서 조회한다.
+@Getter
+public class CursorResponse<T> {
+    private final List<T> content;
+    private final String nextCursor;
+    private final boolean hasNext;
+
+    public CursorResponse(List<T> content, String nextCursor, boolean hasNext) {
+        this.content = content;
+        this.nextCursor = nextCursor;
+        this.hasNext = hasNext;
+    }
+}
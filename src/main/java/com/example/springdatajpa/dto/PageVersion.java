@@ -0,0 +1,19 @@
+package com.example.springdatajpa.dto;
+
+import lombok.Getter;
+import org.springframework.data.domain.Pageable;
+
+// 페이지 조건부 GET 검증값 + 검증값을 만들면서 구한 전체 건수
+// 304 가 아니면 total 을 PageImpl 에 그대로 사용해서 count 쿼리를 다시 실행하지 않는다.
+// 본문은 검증값과 같은 순서로 조회하도록 pageable(정렬 끝에 id 를 붙인 것)로 조회한다.
+@Getter
+public class PageVersion extends ResourceVersion {
+    private final long total;
+    private final Pageable pageable;
+
+    public PageVersion(String etag, long total, Pageable pageable) {
+        super(etag, -1);   // 삭제는 lastModifiedDate 최대값을 바꾸지 못하므로 페이지는 Last-Modified 없이 ETag 만 사용
+        this.total = total;
+        this.pageable = pageable;
+    }
+}
@@ -0,0 +1,25 @@
+package com.example.springdatajpa.dto;
+
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+
+// 조건부 GET(If-None-Match / If-Modified-Since) 검증값
+// 엔티티를 로딩하지 않고 version, lastModifiedDate 만 조회해서 만든다.
+@Getter
+public class ResourceVersion {
+    private final String etag;
+    private final long lastModified;  // epoch millis, 알 수 없으면 -1 (Last-Modified 생략)
+
+    public ResourceVersion(String etag, long lastModified) {
+        this.etag = etag;
+        this.lastModified = lastModified;
+    }
+
+    // JPQL 생성자 표현식용 : select new ...ResourceVersion(m.id, m.version, m.lastModifiedDate)
+    public ResourceVersion(Long id, long version, LocalDateTime lastModifiedDate) {
+        this("\"m" + id + "-v" + version + "\"",
+             lastModifiedDate == null ? -1 : lastModifiedDate.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli());
+    }
+}
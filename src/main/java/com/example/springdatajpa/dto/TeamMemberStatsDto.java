@@ -0,0 +1,20 @@
+package com.example.springdatajpa.dto;
+
+import lombok.Getter;
+
+@Getter
+public class TeamMemberStatsDto {
+    private final String teamName;
+    private final long memberCount;
+    private final double averageAge;
+    private final int minAge;
+    private final int maxAge;
+
+    public TeamMemberStatsDto(String teamName, Long memberCount, Double averageAge, Integer minAge, Integer maxAge) {
+        this.teamName = teamName;
+        this.memberCount = memberCount;
+        this.averageAge = averageAge == null ? 0 : averageAge;
+        this.minAge = minAge == null ? 0 : minAge;
+        this.maxAge = maxAge == null ? 0 : maxAge;
+    }
+}
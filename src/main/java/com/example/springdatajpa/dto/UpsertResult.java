@@ -0,0 +1,20 @@
+package com.example.springdatajpa.dto;
+
+import lombok.Getter;
+import lombok.ToString;
+
+@Getter
+@ToString
+public class UpsertResult {
+    private final int inserted;
+    private final int updated;
+
+    public UpsertResult(int inserted, int updated) {
+        this.inserted = inserted;
+        this.updated = updated;
+    }
+
+    public UpsertResult plus(UpsertResult other) {
+        return new UpsertResult(inserted + other.inserted, updated + other.updated);
+    }
+}
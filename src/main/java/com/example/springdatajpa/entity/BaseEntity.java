@@ -9,6 +9,7 @@ import org.springframework.data.jpa.domain.support.AuditingEntityListener;
 
 import javax.persistence.*;
 import java.time.LocalDateTime;
+import java.util.UUID;
 
 @EntityListeners(AuditingEntityListener.class)
 @MappedSuperclass
@@ -21,12 +22,14 @@ public class BaseEntity {
     @LastModifiedDate
     private LocalDateTime lastModifiedDate;
 
+    // 문자열(36자) 대신 binary(16)로 저장
     @CreatedBy
-    @Column(updatable = false)
-    private String createdBy;
+    @Column(updatable = false, length = 16)
+    private UUID createdBy;
 
     @LastModifiedBy
-    private String lastModifiedBy;
+    @Column(length = 16)
+    private UUID lastModifiedBy;
 }
 
 
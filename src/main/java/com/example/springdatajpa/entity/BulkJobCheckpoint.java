@@ -0,0 +1,99 @@
+package com.example.springdatajpa.entity;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.EnumType;
+import javax.persistence.Enumerated;
+import javax.persistence.Id;
+import java.time.LocalDateTime;
+
+// 청크 단위 벌크 작업(ChunkedBulkUpdateExecutor)의 진행 위치
+// 청크와 같은 트랜잭션에서 갱신되므로 실패 후 재실행하면 마지막으로 커밋된 청크 다음부터 이어서 처리한다.
+@Entity
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+public class BulkJobCheckpoint extends JpaBaseEntity {
+    public enum Status { RUNNING, FAILED, COMPLETED }
+
+    @Id
+    private String jobName;
+
+    @Column(length = 2000)
+    private String jpql;
+
+    // 바인딩 파라미터 (이름 순 문자열) : 같은 JPQL이라도 파라미터가 다르면 이어서 실행하지 않는다.
+    @Column(length = 2000)
+    private String parameters;
+
+    private long minId;
+    private long maxId;      // 시작 시점의 최대 id, 이후에 추가된 row는 대상이 아니다.
+    private long lastId;     // 처리 완료한 마지막 id (이 값 이하는 처리됨)
+    private long processedRows;
+    private long completedChunks;
+
+    @Enumerated(EnumType.STRING)
+    private Status status;
+
+    // 실행 중인 runner 와 lease 만료 시각 : 두 runner 가 같은 작업을 동시에 이어서 실행하지 않도록 한다.
+    // 청크마다 갱신하므로 runner 가 죽으면 lease 가 만료된 뒤 다른 runner 가 이어받을 수 있다.
+    @Column(length = 36)
+    private String owner;
+    private LocalDateTime leaseUntil;
+
+    public BulkJobCheckpoint(String jobName, String jpql, String parameters, long minId, long maxId) {
+        this.jobName = jobName;
+        this.jpql = jpql;
+        this.parameters = parameters;
+        this.minId = minId;
+        this.maxId = maxId;
+        this.lastId = minId - 1;
+        this.status = Status.RUNNING;
+    }
+
+    public void chunkCompleted(long chunkEndId, int rows) {
+        this.lastId = chunkEndId;
+        this.processedRows += rows;
+        this.completedChunks++;
+        if (lastId >= maxId) {
+            this.status = Status.COMPLETED;
+            release();
+        }
+    }
+
+    public void resume() {
+        this.status = Status.RUNNING;
+    }
+
+    public void fail() {
+        this.status = Status.FAILED;
+        release();
+    }
+
+    public void lease(String owner, LocalDateTime leaseUntil) {
+        this.owner = owner;
+        this.leaseUntil = leaseUntil;
+    }
+
+    public boolean isOwnedBy(String owner) {
+        return owner.equals(this.owner);
+    }
+
+    // 다른 runner 가 실행 중이고 lease 가 아직 유효함
+    public boolean isLeasedByOther(String owner, LocalDateTime now) {
+        return status == Status.RUNNING && this.owner != null && !isOwnedBy(owner)
+                && leaseUntil != null && leaseUntil.isAfter(now);
+    }
+
+    private void release() {
+        this.owner = null;
+        this.leaseUntil = null;
+    }
+
+    public boolean isCompleted() {
+        return status == Status.COMPLETED;
+    }
+}
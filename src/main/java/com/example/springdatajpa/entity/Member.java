@@ -1,12 +1,21 @@
 package com.example.springdatajpa.entity;
 
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import javax.persistence.*;
 
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
 @Getter @Setter
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "member") // Member.team(FK)도 함께 캐시된다.
+@Table(indexes = {
+    // Keyset 페이징용 인덱스 : (정렬키, MEMBER_ID)
+    @Index(name = "idx_member_username_id", columnList = "username, MEMBER_ID"),
+    @Index(name = "idx_member_age_username_id", columnList = "age, username, MEMBER_ID")
+})
 @ToString(of = {"id", "username", "age"})
 @NamedQuery(
     name="Member.findByUsername",
@@ -14,11 +23,20 @@ import javax.persistence.*;
 )
 @NamedEntityGraph(name = "Member.all", attributeNodes = @NamedAttributeNode("team"))
 public class Member extends BaseEntity {
+    // 시퀀스를 allocationSize 만큼 한 번에 받아와서(pooled) insert 마다 시퀀스를 호출하지 않는다.
     @Id
-    @GeneratedValue
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "member_seq_generator")
+    @SequenceGenerator(name = "member_seq_generator", sequenceName = "member_seq", allocationSize = 50)
     @Column(name = "MEMBER_ID")
     private Long id;
 
+    // 낙관적 락 : update 시 where version = ? 조건과 함께 + 1, 충돌하면 OptimisticLockException
+    // (JDBC로 직접 insert 할 때는 version 을 0으로 함께 넣어야 한다)
+    @Version
+    @Setter(AccessLevel.NONE)
+    @Column(nullable = false)
+    private long version;
+
     private String username;
     private int age;
 
@@ -1,6 +1,9 @@
 package com.example.springdatajpa.entity;
 
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.OptimisticLock;
 
 import javax.persistence.*;
 import java.util.ArrayList;
@@ -9,14 +12,26 @@ import java.util.List;
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
 @Getter @Setter
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "team")
 @ToString(of = {"id", "name"})
 public class Team {
-    @Id @GeneratedValue
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "team_seq_generator")
+    @SequenceGenerator(name = "team_seq_generator", sequenceName = "team_seq", allocationSize = 50)
     @Column(name = "TEAM_ID")
     private Long id;
 
+    @Version
+    @Setter(AccessLevel.NONE)
+    @Column(nullable = false)
+    private long version;
+
     private String name;
 
+    // 회원 추가/제거로 팀의 version 이 올라가지 않도록 제외 (동시에 같은 팀에 회원을 추가해도 충돌하지 않는다)
+    @OptimisticLock(excluded = true)
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "team.members")
     @OneToMany(mappedBy = "team")
     private List<Member> members = new ArrayList<>();
 
@@ -0,0 +1,80 @@
+package com.example.springdatajpa.monitoring;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+// 커넥션 점유 시간을 HTTP 경로/리포지토리 메서드 별로 나누기 위한 스레드 단위 컨텍스트
+// - route : RouteAttributionInterceptor 가 요청 동안 설정
+// - repository : RepositoryInstrumentationPostProcessor 가 리포지토리 메서드 실행 동안 설정
+// 커넥션을 얻는 시점(ConnectionPoolMetrics)에 현재 값으로 Hold 를 만들고, 반납 시점에 점유 시간을 기록한다.
+// 커넥션을 얻은 뒤 처음 실행된 리포지토리 메서드가 점유자가 된다. (서비스 트랜잭션이 먼저 커넥션을 얻은 경우)
+public final class ConnectionHolderContext {
+    private static final int MAX_HOLDS = 16;   // 반납 기록이 누락된 경우 무한히 쌓이지 않도록
+    private static final ThreadLocal<ConnectionHolderContext> CONTEXT = ThreadLocal.withInitial(ConnectionHolderContext::new);
+
+    private String route;
+    private final Deque<String> repositoryMethods = new ArrayDeque<>();
+    private final Deque<Hold> holds = new ArrayDeque<>();
+
+    private ConnectionHolderContext() {
+    }
+
+    public static void setRoute(String route) {
+        CONTEXT.get().route = route;
+    }
+
+    public static void clearRoute() {
+        CONTEXT.get().route = null;
+    }
+
+    public static void enterRepository(String method) {
+        ConnectionHolderContext context = CONTEXT.get();
+        context.repositoryMethods.push(method);
+        Hold hold = context.holds.peek();
+        if (hold != null && hold.repositoryMethod == null) {
+            hold.repositoryMethod = method;
+        }
+    }
+
+    public static void exitRepository() {
+        CONTEXT.get().repositoryMethods.poll();
+    }
+
+    public static String currentRoute() {
+        return CONTEXT.get().route;
+    }
+
+    // 현재 실행 중인 가장 안쪽 리포지토리 메서드 (없으면 null)
+    public static String currentRepositoryMethod() {
+        return CONTEXT.get().repositoryMethods.peek();
+    }
+
+    static void acquired(long acquiredAt) {
+        ConnectionHolderContext context = CONTEXT.get();
+        if (context.holds.size() >= MAX_HOLDS) {
+            context.holds.clear();
+        }
+        context.holds.push(new Hold(context.route, context.repositoryMethods.peek(), acquiredAt));
+    }
+
+    // 한 스레드가 커넥션을 여러 개 잡는 경우(REQUIRES_NEW)는 나중에 얻은 것이 먼저 반납된다.
+    static Hold released() {
+        return CONTEXT.get().holds.poll();
+    }
+
+    static class Hold {
+        final String route;
+        String repositoryMethod;
+        final long acquiredAt;
+
+        Hold(String route, String repositoryMethod, long acquiredAt) {
+            this.route = route;
+            this.repositoryMethod = repositoryMethod;
+            this.acquiredAt = acquiredAt;
+        }
+
+        String label() {
+            return (route == null ? "-" : route) + " | " + (repositoryMethod == null ? "-" : repositoryMethod);
+        }
+    }
+}
@@ -0,0 +1,160 @@
+package com.example.springdatajpa.monitoring;
+
+import com.zaxxer.hikari.HikariConfigMXBean;
+import com.zaxxer.hikari.metrics.IMetricsTracker;
+import com.zaxxer.hikari.metrics.MetricsTrackerFactory;
+import com.zaxxer.hikari.metrics.PoolStats;
+import lombok.Getter;
+import org.springframework.stereotype.Component;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+
+// Hikari 커넥션 풀별 지표 (PoolMetricsDataSourcePostProcessor 가 모든 HikariDataSource 에 등록, /admin/pools)
+// - 커넥션 획득 대기시간, 점유(사용) 시간, 물리 커넥션 생성 시간 히스토그램, 획득 타임아웃 횟수
+// - active/idle/pending/total : Hikari PoolStats (1초 주기로 갱신되는 값)
+// - 점유 시간을 "HTTP 경로 | 리포지토리 메서드" 별로 나눠서 기록 (ConnectionHolderContext)
+@Component
+public class ConnectionPoolMetrics implements MetricsTrackerFactory {
+    private static final int MAX_HOLDERS = 500;   // 점유자 라벨 종류 상한
+    private static final String OTHER_HOLDERS = "(other)";
+
+    private final Map<String, PoolMetrics> pools = new ConcurrentHashMap<>();
+    private final Map<String, HikariConfigMXBean> configs = new ConcurrentHashMap<>();
+
+    public void register(String poolName, HikariConfigMXBean config) {
+        configs.put(poolName, config);
+    }
+
+    @Override
+    public IMetricsTracker create(String poolName, PoolStats poolStats) {
+        PoolMetrics metrics = new PoolMetrics(poolName, poolStats);
+        pools.put(poolName, metrics);
+        return metrics;
+    }
+
+    public Optional<PoolMetrics> pool(String poolName) {
+        return Optional.ofNullable(pools.get(poolName));
+    }
+
+    public Optional<HikariConfigMXBean> config(String poolName) {
+        return Optional.ofNullable(configs.get(poolName));
+    }
+
+    public List<PoolSnapshot> snapshot(int topHolders) {
+        return pools.values().stream()
+                    .sorted(Comparator.comparing(PoolMetrics::getPoolName))
+                    .map(pool -> new PoolSnapshot(pool, configs.get(pool.getPoolName()), topHolders))
+                    .collect(Collectors.toList());
+    }
+
+    @Getter
+    public static class PoolMetrics implements IMetricsTracker {
+        private final String poolName;
+        private final PoolStats poolStats;
+        private final LatencyHistogram acquire = new LatencyHistogram();
+        private final LatencyHistogram usage = new LatencyHistogram();
+        private final LatencyHistogram creation = new LatencyHistogram();
+        private final LongAdder timeouts = new LongAdder();
+        private final Map<String, LatencyHistogram> holders = new ConcurrentHashMap<>();
+
+        PoolMetrics(String poolName, PoolStats poolStats) {
+            this.poolName = poolName;
+            this.poolStats = poolStats;
+        }
+
+        @Override
+        public void recordConnectionCreatedMillis(long connectionCreatedMillis) {
+            creation.record(TimeUnit.MILLISECONDS.toNanos(connectionCreatedMillis));
+        }
+
+        // 커넥션을 얻은 스레드에서 호출된다. (타임아웃도 호출된 뒤 recordConnectionTimeout)
+        @Override
+        public void recordConnectionAcquiredNanos(long elapsedAcquiredNanos) {
+            acquire.record(elapsedAcquiredNanos);
+            ConnectionHolderContext.acquired(System.nanoTime());
+        }
+
+        // 커넥션을 반납(close)한 스레드에서 호출된다. Hikari 는 ms 단위라 직접 잰 나노초를 사용한다.
+        @Override
+        public void recordConnectionUsageMillis(long elapsedBorrowedMillis) {
+            ConnectionHolderContext.Hold hold = ConnectionHolderContext.released();
+            long nanos = hold == null
+                    ? TimeUnit.MILLISECONDS.toNanos(elapsedBorrowedMillis)
+                    : System.nanoTime() - hold.acquiredAt;
+            usage.record(nanos);
+            holder(hold == null ? "unknown" : hold.label()).record(nanos);
+        }
+
+        @Override
+        public void recordConnectionTimeout() {
+            timeouts.increment();
+            ConnectionHolderContext.released();   // 커넥션을 얻지 못했으므로 방금 만든 Hold 는 버린다.
+        }
+
+        private LatencyHistogram holder(String label) {
+            LatencyHistogram histogram = holders.get(label);
+            if (histogram != null) {
+                return histogram;
+            }
+            return holders.computeIfAbsent(holders.size() < MAX_HOLDERS ? label : OTHER_HOLDERS,
+                                           key -> new LatencyHistogram());
+        }
+    }
+
+    @Getter
+    public static class PoolSnapshot {
+        private final String poolName;
+        private final int active;
+        private final int idle;
+        private final int pending;
+        private final int total;
+        private final int minIdle;
+        private final int maxPoolSize;
+        private final long timeouts;
+        private final LatencyHistogram.Snapshot acquire;
+        private final LatencyHistogram.Snapshot usage;
+        private final LatencyHistogram.Snapshot creation;
+        private final List<HolderSnapshot> topHolders;   // 점유 시간 합계 순
+
+        PoolSnapshot(PoolMetrics pool, HikariConfigMXBean config, int topHolders) {
+            PoolStats stats = pool.poolStats;
+            this.poolName = pool.poolName;
+            this.active = stats.getActiveConnections();
+            this.idle = stats.getIdleConnections();
+            this.pending = stats.getPendingThreads();
+            this.total = stats.getTotalConnections();
+            this.minIdle = config == null ? stats.getMinConnections() : config.getMinimumIdle();
+            this.maxPoolSize = config == null ? stats.getMaxConnections() : config.getMaximumPoolSize();
+            this.timeouts = pool.timeouts.sum();
+            this.acquire = pool.acquire.snapshot();
+            this.usage = pool.usage.snapshot();
+            this.creation = pool.creation.snapshot();
+            this.topHolders = pool.holders.entrySet().stream()
+                                          .sorted(Comparator.comparingLong(
+                                                  (Map.Entry<String, LatencyHistogram> e) -> e.getValue().totalNanos()).reversed())
+                                          .limit(topHolders)
+                                          .map(e -> new HolderSnapshot(e.getKey(), e.getValue()))
+                                          .collect(Collectors.toList());
+        }
+    }
+
+    @Getter
+    public static class HolderSnapshot {
+        private final String holder;       // "GET /api/members | MemberRepository.findAll"
+        private final double totalMillis;
+        private final LatencyHistogram.Snapshot usage;
+
+        HolderSnapshot(String holder, LatencyHistogram histogram) {
+            this.holder = holder;
+            this.totalMillis = histogram.totalNanos() / 1_000_000.0;
+            this.usage = histogram.snapshot();
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package com.example.springdatajpa.monitoring;
+
+import lombok.Getter;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+// 나노초 지연시간 히스토그램 (HDR 방식의 로그-선형 버킷)
+// 2의 거듭제곱 구간마다 16개 버킷 -> 상대 오차 6% 이내, 기록은 락 없이 배열 increment 한 번
+// 백분위는 버킷 상한값으로 계산하므로 실제보다 약간 크게 나온다.
+public class LatencyHistogram {
+    private static final int SUB_BUCKET_BITS = 4;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    private static final int BUCKETS = (64 - SUB_BUCKET_BITS + 1) * SUB_BUCKETS;
+
+    private final AtomicLongArray buckets = new AtomicLongArray(BUCKETS);
+    private final LongAdder count = new LongAdder();
+    private final LongAdder totalNanos = new LongAdder();
+    private final LongAccumulator maxNanos = new LongAccumulator(Math::max, 0);
+
+    public void record(long nanos) {
+        long value = Math.max(0, nanos);
+        buckets.incrementAndGet(bucketOf(value));
+        count.increment();
+        totalNanos.add(value);
+        maxNanos.accumulate(value);
+    }
+
+    public long count() {
+        return count.sum();
+    }
+
+    public long totalNanos() {
+        return totalNanos.sum();
+    }
+
+    public Snapshot snapshot() {
+        long[] counts = new long[BUCKETS];
+        long total = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            counts[i] = buckets.get(i);
+            total += counts[i];
+        }
+        return new Snapshot(counts, total, totalNanos.sum(), maxNanos.get());
+    }
+
+    static int bucketOf(long value) {
+        if (value < SUB_BUCKETS) {
+            return (int) value;
+        }
+        int magnitude = 63 - Long.numberOfLeadingZeros(value);
+        int subBucket = (int) (value >>> (magnitude - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1);
+        return (magnitude - SUB_BUCKET_BITS + 1) * SUB_BUCKETS + subBucket;
+    }
+
+    static long upperBoundOf(int bucket) {
+        if (bucket < SUB_BUCKETS) {
+            return bucket;
+        }
+        int magnitude = bucket / SUB_BUCKETS + SUB_BUCKET_BITS - 1;
+        int subBucket = bucket % SUB_BUCKETS;
+        return ((long) (SUB_BUCKETS + subBucket + 1) << (magnitude - SUB_BUCKET_BITS)) - 1;
+    }
+
+    // 단위는 마이크로초
+    @Getter
+    public static class Snapshot {
+        private final long count;
+        private final double meanMicros;
+        private final double p50Micros;
+        private final double p90Micros;
+        private final double p99Micros;
+        private final double p999Micros;
+        private final double maxMicros;
+
+        Snapshot(long[] counts, long count, long totalNanos, long maxNanos) {
+            this.count = count;
+            this.meanMicros = count == 0 ? 0 : totalNanos / 1000.0 / count;
+            this.p50Micros = percentile(counts, count, maxNanos, 0.5);
+            this.p90Micros = percentile(counts, count, maxNanos, 0.9);
+            this.p99Micros = percentile(counts, count, maxNanos, 0.99);
+            this.p999Micros = percentile(counts, count, maxNanos, 0.999);
+            this.maxMicros = maxNanos / 1000.0;
+        }
+
+        private static double percentile(long[] counts, long count, long maxNanos, double quantile) {
+            if (count == 0) {
+                return 0;
+            }
+            long rank = (long) Math.ceil(quantile * count);
+            long seen = 0;
+            for (int i = 0; i < counts.length; i++) {
+                seen += counts[i];
+                if (seen >= rank) {
+                    return Math.min(upperBoundOf(i), maxNanos) / 1000.0;
+                }
+            }
+            return maxNanos / 1000.0;
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package com.example.springdatajpa.monitoring;
+
+import lombok.Getter;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+// 엔티티 타입별 낙관적 락 충돌/재시도/포기 횟수 (@OptimisticRetry)
+@Component
+public class OptimisticLockMetrics {
+    private final Map<String, EntityCounters> counters = new ConcurrentHashMap<>();
+    private final LongAdder recovered = new LongAdder();
+
+    public void conflict(String entity) {
+        countersOf(entity).conflicts.increment();
+    }
+
+    public void retry(String entity) {
+        countersOf(entity).retries.increment();
+    }
+
+    public void exhausted(String entity) {
+        countersOf(entity).exhausted.increment();
+    }
+
+    // 재시도 끝에 성공
+    public void recovered() {
+        recovered.increment();
+    }
+
+    public long recoveredCount() {
+        return recovered.sum();
+    }
+
+    public Map<String, EntitySnapshot> snapshot() {
+        Map<String, EntitySnapshot> snapshot = new TreeMap<>();
+        counters.forEach((entity, c) -> snapshot.put(entity, new EntitySnapshot(c)));
+        return snapshot;
+    }
+
+    private EntityCounters countersOf(String entity) {
+        return counters.computeIfAbsent(entity, key -> new EntityCounters());
+    }
+
+    private static class EntityCounters {
+        final LongAdder conflicts = new LongAdder();
+        final LongAdder retries = new LongAdder();
+        final LongAdder exhausted = new LongAdder();
+    }
+
+    @Getter
+    public static class EntitySnapshot {
+        private final long conflicts;
+        private final long retries;
+        private final long exhausted;
+
+        EntitySnapshot(EntityCounters counters) {
+            this.conflicts = counters.conflicts.sum();
+            this.retries = counters.retries.sum();
+            this.exhausted = counters.exhausted.sum();
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package com.example.springdatajpa.monitoring;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+
+// HTTP 요청마다 실행된 SQL 수를 세고, 예산 초과/N+1 의심을 로그로 남긴다.
+@Component
+public class QueryCountFilter extends OncePerRequestFilter {
+    private final int requestBudget;
+    private final int nPlusOneThreshold;
+
+    public QueryCountFilter(@Value("${app.query-count.request-budget:0}") int requestBudget,
+                            @Value("${app.query-count.n-plus-one-threshold:5}") int nPlusOneThreshold) {
+        this.requestBudget = requestBudget;
+        this.nPlusOneThreshold = nPlusOneThreshold;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        String name = request.getMethod() + " " + request.getRequestURI();
+        QueryCountScope scope = QueryCountHolder.open(name, requestBudget, nPlusOneThreshold);
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            QueryCountHolder.closeAndReport(scope);
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package com.example.springdatajpa.monitoring;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+// 현재 스레드에 열려있는 QueryCountScope 들 (HTTP 요청 > 트랜잭션 처럼 중첩될 수 있다)
+// 실행된 SQL은 열려있는 모든 scope에 기록된다.
+@Slf4j
+public final class QueryCountHolder {
+    private static final ThreadLocal<Deque<QueryCountScope>> SCOPES = ThreadLocal.withInitial(ArrayDeque::new);
+
+    private QueryCountHolder() {
+    }
+
+    public static QueryCountScope open(String name, int budget, int nPlusOneThreshold) {
+        QueryCountScope scope = new QueryCountScope(name, budget, nPlusOneThreshold);
+        SCOPES.get().push(scope);
+        return scope;
+    }
+
+    public static void close(QueryCountScope scope) {
+        Deque<QueryCountScope> scopes = SCOPES.get();
+        scopes.remove(scope);
+        if (scopes.isEmpty()) {
+            SCOPES.remove();
+        }
+    }
+
+    // scope를 닫고 N+1 의심/예산 초과를 로그로 남긴다.
+    public static void closeAndReport(QueryCountScope scope) {
+        close(scope);
+        for (QueryCountScope.ShapeCount suspect : scope.nPlusOneSuspects()) {
+            log.warn("N+1 suspected in [{}] : {} x {}\n{}", scope.getName(), suspect.getCount(), suspect.getShape(),
+                     suspect.getFirstRepeatStack());
+        }
+        if (scope.isOverBudget()) {
+            log.warn("statement budget exceeded in [{}] : {} > {}\n{}\n{}", scope.getName(), scope.getTotal(),
+                     scope.getBudget(), scope.getBudgetExceededStack(), scope.summary());
+        } else if (log.isDebugEnabled() && scope.getTotal() > 0) {
+            log.debug(scope.summary());
+        }
+    }
+
+    public static boolean hasScope() {
+        return !SCOPES.get().isEmpty();
+    }
+
+    static void record(String sql) {
+        Deque<QueryCountScope> scopes = SCOPES.get();
+        if (scopes.isEmpty()) {
+            return;
+        }
+        String shape = SqlShapes.normalize(sql);
+        for (QueryCountScope scope : scopes) {
+            scope.record(shape);
+        }
+    }
+
+    // 테스트의 given 단계처럼 세지 않을 구간을 지울 때 사용
+    public static void reset() {
+        for (QueryCountScope scope : SCOPES.get()) {
+            scope.reset();
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package com.example.springdatajpa.monitoring;
+
+import com.p6spy.engine.common.StatementInformation;
+import com.p6spy.engine.event.SimpleJdbcEventListener;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.SQLException;
+
+// p6spy가 실행된 모든 statement를 알려준다. (p6spy-spring-boot-starter가 JdbcEventListener 빈을 등록)
+// 트랜잭션 안에서 처음 실행되는 statement 시점에 트랜잭션 scope를 열고 완료 시점에 닫는다.
+@Component
+public class QueryCountListener extends SimpleJdbcEventListener {
+    private static final Object TRANSACTION_SCOPE_KEY = QueryCountListener.class.getName() + ".TRANSACTION_SCOPE";
+
+    private final int transactionBudget;
+    private final int nPlusOneThreshold;
+
+    public QueryCountListener(@Value("${app.query-count.transaction-budget:0}") int transactionBudget,
+                              @Value("${app.query-count.n-plus-one-threshold:5}") int nPlusOneThreshold) {
+        this.transactionBudget = transactionBudget;
+        this.nPlusOneThreshold = nPlusOneThreshold;
+    }
+
+    @Override
+    public void onAfterAnyExecute(StatementInformation statementInformation, long timeElapsedNanos, SQLException e) {
+        openTransactionScopeIfNecessary();
+        QueryCountHolder.record(statementInformation.getSql());
+    }
+
+    private void openTransactionScopeIfNecessary() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()
+                || TransactionSynchronizationManager.hasResource(TRANSACTION_SCOPE_KEY)) {
+            return;
+        }
+        String name = "tx " + TransactionSynchronizationManager.getCurrentTransactionName();
+        QueryCountScope scope = QueryCountHolder.open(name, transactionBudget, nPlusOneThreshold);
+        TransactionSynchronizationManager.bindResource(TRANSACTION_SCOPE_KEY, scope);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                TransactionSynchronizationManager.unbindResourceIfPossible(TRANSACTION_SCOPE_KEY);
+                QueryCountHolder.closeAndReport(scope);
+            }
+        });
+    }
+}
@@ -0,0 +1,73 @@
+package com.example.springdatajpa.monitoring;
+
+import lombok.Getter;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+// HTTP 요청 하나, 트랜잭션 하나 단위로 실행된 SQL 수를 모양(shape)별로 센다.
+// 한 스레드에서만 사용된다. (QueryCountHolder)
+@Getter
+public class QueryCountScope {
+    private final String name;
+    private final int budget;               // 0 이하면 제한 없음
+    private final int nPlusOneThreshold;    // 같은 모양의 select가 이 횟수 이상이면 N+1 의심
+    private final Map<String, ShapeCount> shapes = new LinkedHashMap<>();
+    private int total;
+    private String budgetExceededStack;     // 예산을 처음 넘긴 statement의 호출 스택
+
+    QueryCountScope(String name, int budget, int nPlusOneThreshold) {
+        this.name = name;
+        this.budget = budget;
+        this.nPlusOneThreshold = nPlusOneThreshold;
+    }
+
+    void record(String shape) {
+        total++;
+        ShapeCount count = shapes.computeIfAbsent(shape, ShapeCount::new);
+        count.count++;
+
+        // 스택은 필요한 순간에만 남긴다. (N+1로 판정되는 순간 = 지연로딩을 일으킨 위치)
+        if (count.count == nPlusOneThreshold && SqlShapes.isSelect(shape)) {
+            count.firstRepeatStack = StackTraces.capture();
+        }
+        if (budget > 0 && total == budget + 1) {
+            budgetExceededStack = StackTraces.capture();
+        }
+    }
+
+    void reset() {
+        shapes.clear();
+        total = 0;
+        budgetExceededStack = null;
+    }
+
+    public boolean isOverBudget() {
+        return budget > 0 && total > budget;
+    }
+
+    public List<ShapeCount> nPlusOneSuspects() {
+        return shapes.values().stream()
+                     .filter(count -> count.firstRepeatStack != null)
+                     .collect(Collectors.toList());
+    }
+
+    public String summary() {
+        return shapes.values().stream()
+                     .map(count -> count.count + " x " + count.shape)
+                     .collect(Collectors.joining("\n  ", name + " : " + total + " statements\n  ", ""));
+    }
+
+    @Getter
+    public static class ShapeCount {
+        private final String shape;
+        private int count;
+        private String firstRepeatStack;
+
+        ShapeCount(String shape) {
+            this.shape = shape;
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package com.example.springdatajpa.monitoring;
+
+import com.example.springdatajpa.dto.QueryPlanCacheStatsDto;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.engine.query.spi.QueryPlanCache;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.internal.util.config.ConfigurationHelper;
+import org.hibernate.stat.Statistics;
+import org.springframework.stereotype.Component;
+import org.springframework.util.ReflectionUtils;
+
+import javax.persistence.EntityManagerFactory;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.util.Map;
+
+// 하이버네이트 QueryPlanCache(HQL/네이티브 쿼리 plan) 크기, hit/miss, 추정 eviction 수
+// 크기는 공개 API가 없으므로 내부 맵을 읽는다. (읽지 못하면 -1)
+@Slf4j
+@Component
+public class QueryPlanCacheMonitor {
+    private static final int DEFAULT_MAX_SIZE = 2048;   // hibernate.query.plan_cache_max_size 기본값
+
+    private final SessionFactoryImplementor sessionFactory;
+    private final int maxSize;
+
+    public QueryPlanCacheMonitor(EntityManagerFactory entityManagerFactory) {
+        this.sessionFactory = entityManagerFactory.unwrap(SessionFactoryImplementor.class);
+        this.maxSize = ConfigurationHelper.getInt(AvailableSettings.QUERY_PLAN_CACHE_MAX_SIZE,
+                                                  sessionFactory.getProperties(), DEFAULT_MAX_SIZE);
+    }
+
+    public QueryPlanCacheStatsDto snapshot() {
+        Statistics statistics = sessionFactory.getStatistics();
+        long hits = statistics.getQueryPlanCacheHitCount();
+        long misses = statistics.getQueryPlanCacheMissCount();
+        int size = size();
+        // miss 마다 plan이 하나씩 추가되므로 (miss - 현재 크기)는 밀려난 plan 수의 하한
+        long estimatedEvictions = size < 0 ? -1 : Math.max(0, misses - size);
+        return new QueryPlanCacheStatsDto(size, maxSize, hits, misses, estimatedEvictions);
+    }
+
+    private int size() {
+        try {
+            Field field = ReflectionUtils.findField(QueryPlanCache.class, "queryPlanCache");
+            if (field == null) {
+                return -1;
+            }
+            ReflectionUtils.makeAccessible(field);
+            Object cache = field.get(sessionFactory.getQueryPlanCache());
+            if (cache instanceof Map) {
+                return ((Map<?, ?>) cache).size();
+            }
+            // 5.6의 InternalCache
+            Method estimate = ReflectionUtils.findMethod(cache.getClass(), "heldElementsEstimate");
+            if (estimate == null) {
+                return -1;
+            }
+            ReflectionUtils.makeAccessible(estimate);
+            return ((Number) estimate.invoke(cache)).intValue();
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            log.debug("failed to read query plan cache size", e);
+            return -1;
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package com.example.springdatajpa.monitoring;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.springframework.aop.interceptor.ExposeInvocationInterceptor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.data.repository.core.support.RepositoryFactoryBeanSupport;
+import org.springframework.stereotype.Component;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+// 모든 스프링 데이터 리포지토리 프록시의 가장 바깥에 advice 하나를 추가한다.
+// - 현재 리포지토리 메서드를 ConnectionHolderContext 에 남긴다. (커넥션 점유자)
+// - 메서드별 지연시간/row 수/예외 수를 RepositoryMethodMetrics 에 기록한다.
+// 트랜잭션 advice 보다 바깥이어야 트랜잭션 시작 시 얻는 커넥션과 커밋 시간도 메서드에 포함된다.
+@Component
+public class RepositoryInstrumentationPostProcessor implements BeanPostProcessor {
+    private final ObjectProvider<RepositoryMethodMetrics> metrics;
+
+    public RepositoryInstrumentationPostProcessor(ObjectProvider<RepositoryMethodMetrics> metrics) {
+        this.metrics = metrics;
+    }
+
+    @Override
+    public Object postProcessBeforeInitialization(Object bean, String beanName) {
+        if (bean instanceof RepositoryFactoryBeanSupport) {
+            ((RepositoryFactoryBeanSupport<?, ?, ?>) bean).addRepositoryFactoryCustomizer(factory ->
+                    factory.addRepositoryProxyPostProcessor((proxyFactory, information) -> {
+                        String repository = information.getRepositoryInterface().getSimpleName();
+                        int position = proxyFactory.indexOf(ExposeInvocationInterceptor.ADVISOR) + 1;
+                        proxyFactory.addAdvice(position, interceptor(repository, metrics.getObject()));
+                    }));
+        }
+        return bean;
+    }
+
+    private static MethodInterceptor interceptor(String repository, RepositoryMethodMetrics metrics) {
+        // 호출마다 문자열/이름을 만들지 않도록 Method 별로 한 번만 만든다.
+        Map<Method, InstrumentedMethod> methods = new ConcurrentHashMap<>();
+        return invocation -> {
+            Method method = invocation.getMethod();
+            InstrumentedMethod instrumented = methods.get(method);
+            if (instrumented == null) {
+                instrumented = methods.computeIfAbsent(method, key -> new InstrumentedMethod(
+                        repository + "." + key.getName(), metrics.isEnabled() ? metrics.statsOf(repository, key) : null));
+            }
+
+            ConnectionHolderContext.enterRepository(instrumented.label);
+            long start = System.nanoTime();
+            try {
+                Object result = invocation.proceed();
+                if (instrumented.stats != null) {
+                    instrumented.stats.success(System.nanoTime() - start, result);
+                }
+                return result;
+            } catch (Throwable e) {
+                if (instrumented.stats != null) {
+                    instrumented.stats.failure(System.nanoTime() - start);
+                }
+                throw e;
+            } finally {
+                ConnectionHolderContext.exitRepository();
+            }
+        };
+    }
+
+    private static class InstrumentedMethod {
+        final String label;
+        final RepositoryMethodMetrics.MethodStats stats;   // 측정을 끄면 null
+
+        InstrumentedMethod(String label, RepositoryMethodMetrics.MethodStats stats) {
+            this.label = label;
+            this.stats = stats;
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package com.example.springdatajpa.monitoring;
+
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+// 요청 동안 "HTTP 메서드 + 매핑 패턴"(/api/members/{id})을 ConnectionHolderContext 에 남긴다.
+// 실제 URI 대신 패턴을 쓰므로 라벨 종류가 늘어나지 않는다.
+public class RouteAttributionInterceptor implements HandlerInterceptor {
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        ConnectionHolderContext.setRoute(request.getMethod() + " " + (pattern != null ? pattern : request.getRequestURI()));
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        ConnectionHolderContext.clearRoute();
+    }
+}
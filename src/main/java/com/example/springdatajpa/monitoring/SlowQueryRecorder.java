@@ -0,0 +1,305 @@
+package com.example.springdatajpa.monitoring;
+
+import com.p6spy.engine.common.PreparedStatementInformation;
+import com.p6spy.engine.common.StatementInformation;
+import com.p6spy.engine.event.SimpleJdbcEventListener;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PreDestroy;
+import javax.sql.DataSource;
+import java.io.InputStream;
+import java.io.Reader;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+
+// 느린 SQL 기록 (p6spy JdbcEventListener)
+// - threshold 이상 걸린 statement 를 바인딩 값, 호출한 리포지토리 메서드/HTTP 경로와 함께 최근 buffer-size 개 보관 (링 버퍼)
+// - SQL 모양(SqlShapes)별 횟수/총 소요시간, 모양별로 처음 느렸을 때 별도 스레드에서 EXPLAIN 결과를 남긴다.
+// - EXPLAIN 은 바인딩 값을 문자열로 넣은 SQL(getSqlWithValues)이 아니라 원래 SQL 에 값을 다시 바인딩해서 실행한다.
+//   (p6spy 의 리터럴 변환은 표시용이라 binary/UUID/timestamp 값이나 이스케이프가 DB 문법과 맞지 않을 수 있다)
+// threshold 미만은 시간 비교 한 번만 하고 끝난다. (explain 이 켜져 있으면 스레드별 바인딩 값 기록이 추가된다)
+@Slf4j
+@Component
+public class SlowQueryRecorder extends SimpleJdbcEventListener {
+    private static final String OTHER_SHAPES = "(other)";
+    private static final ThreadLocal<Boolean> EXPLAINING = ThreadLocal.withInitial(() -> false);
+    // 현재 스레드에서 실행 중인 PreparedStatement 의 바인딩 값 (실행이 끝나면 지운다)
+    private static final ThreadLocal<BoundParameters> PARAMETERS = new ThreadLocal<>();
+
+    private final long thresholdNanos;
+    private final int maxShapes;
+    private final boolean explain;
+    private final ObjectProvider<DataSource> dataSource;   // DataSource 가 이 리스너를 필요로 하므로 나중에 꺼낸다.
+    private final AtomicReferenceArray<SlowQuery> recent;
+    private final AtomicLong sequence = new AtomicLong();
+    private final Map<String, ShapeStats> shapes = new ConcurrentHashMap<>();
+    private final ThreadPoolExecutor explainExecutor;
+    private volatile String explainPrefix;
+
+    public SlowQueryRecorder(@Value("${app.slow-query.threshold:200ms}") Duration threshold,
+                             @Value("${app.slow-query.buffer-size:500}") int bufferSize,
+                             @Value("${app.slow-query.max-shapes:1000}") int maxShapes,
+                             @Value("${app.slow-query.explain:true}") boolean explain,
+                             ObjectProvider<DataSource> dataSource) {
+        this.thresholdNanos = threshold.toNanos();
+        this.maxShapes = maxShapes;
+        this.explain = explain;
+        this.dataSource = dataSource;
+        this.recent = new AtomicReferenceArray<>(bufferSize);
+        // EXPLAIN 은 한 번에 하나씩, 밀리면 버린다. (요청 스레드를 기다리게 하지 않는다)
+        this.explainExecutor = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(100),
+                                                      runnable -> {
+                                                          Thread thread = new Thread(runnable, "slow-query-explain");
+                                                          thread.setDaemon(true);
+                                                          return thread;
+                                                      });
+    }
+
+    @Override
+    public void onAfterPreparedStatementSet(PreparedStatementInformation statementInformation, int parameterIndex,
+                                            Object value, SQLException e) {
+        if (!explain) {
+            return;
+        }
+        BoundParameters parameters = PARAMETERS.get();
+        if (parameters == null || parameters.statement != statementInformation) {
+            parameters = new BoundParameters(statementInformation);
+            PARAMETERS.set(parameters);
+        }
+        parameters.values.put(parameterIndex, value);
+    }
+
+    @Override
+    public void onAfterAnyExecute(StatementInformation statementInformation, long timeElapsedNanos, SQLException e) {
+        Map<Integer, Object> parameters = explain ? takeParameters(statementInformation) : null;
+        if (timeElapsedNanos < thresholdNanos || EXPLAINING.get()) {
+            return;
+        }
+        String sql = statementInformation.getSql();
+        if (sql == null || sql.isEmpty()) {
+            return;   // executeBatch 등
+        }
+        String shape = SqlShapes.normalize(sql);
+        String repositoryMethod = ConnectionHolderContext.currentRepositoryMethod();
+        SlowQuery query = new SlowQuery(LocalDateTime.now(), timeElapsedNanos / 1_000_000.0, shape,
+                                        statementInformation.getSqlWithValues(), repositoryMethod,
+                                        ConnectionHolderContext.currentRoute(), e == null ? null : e.getMessage());
+        long seq = sequence.getAndIncrement();
+        recent.set((int) (seq % recent.length()), query);
+
+        ShapeStats stats = shapes.get(shape);
+        if (stats == null) {
+            String key = shapes.size() < maxShapes ? shape : OTHER_SHAPES;
+            ShapeStats created = new ShapeStats(key, query);
+            stats = shapes.putIfAbsent(key, created);
+            if (stats == null) {
+                stats = created;
+                if (explain && !OTHER_SHAPES.equals(key) && SqlShapes.isSelect(shape)) {
+                    submitExplain(created, sql, parameters);
+                }
+            }
+        }
+        stats.record(timeElapsedNanos);
+    }
+
+    // 최근 느린 SQL (최신순)
+    public List<SlowQuery> recent(int limit) {
+        List<SlowQuery> result = new ArrayList<>();
+        long end = sequence.get();
+        for (long seq = end - 1; seq >= 0 && seq >= end - recent.length() && result.size() < limit; seq--) {
+            SlowQuery query = recent.get((int) (seq % recent.length()));
+            if (query != null) {
+                result.add(query);
+            }
+        }
+        return result;
+    }
+
+    // 총 소요시간 상위 모양
+    public List<ShapeSnapshot> topShapes(int limit) {
+        return shapes.values().stream()
+                     .map(ShapeSnapshot::new)
+                     .sorted(Comparator.comparingDouble(ShapeSnapshot::getTotalMillis).reversed())
+                     .limit(limit)
+                     .collect(Collectors.toList());
+    }
+
+    public void clear() {
+        shapes.clear();
+        for (int i = 0; i < recent.length(); i++) {
+            recent.set(i, null);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        explainExecutor.shutdownNow();
+    }
+
+    // 이 statement 의 바인딩 값 (Statement 처럼 바인딩이 없으면 빈 맵)
+    private static Map<Integer, Object> takeParameters(StatementInformation statementInformation) {
+        BoundParameters parameters = PARAMETERS.get();
+        if (parameters == null || parameters.statement != statementInformation) {
+            return Map.of();
+        }
+        PARAMETERS.remove();
+        return parameters.values;
+    }
+
+    private void submitExplain(ShapeStats stats, String sql, Map<Integer, Object> parameters) {
+        // 스트림 값은 이미 읽혔으므로 다시 바인딩할 수 없다.
+        if (parameters.values().stream().anyMatch(value -> value instanceof InputStream || value instanceof Reader)) {
+            stats.plan = "EXPLAIN skipped (stream parameter)";
+            return;
+        }
+        try {
+            explainExecutor.execute(() -> {
+                EXPLAINING.set(true);
+                try {
+                    stats.plan = explain(sql, parameters);
+                } catch (Exception ex) {
+                    stats.plan = "EXPLAIN failed: " + ex.getMessage();
+                    log.debug("slow query explain failed, sql={}", sql, ex);
+                } finally {
+                    EXPLAINING.remove();
+                }
+            });
+        } catch (RejectedExecutionException ex) {
+            stats.plan = "EXPLAIN skipped (queue full)";
+        }
+    }
+
+    // 원래 SQL 에 같은 값을 다시 바인딩해서 실행 계획만 조회한다. (EXPLAIN ANALYZE 처럼 실제로 실행하지 않는다)
+    private String explain(String sql, Map<Integer, Object> parameters) throws SQLException {
+        try (Connection connection = dataSource.getObject().getConnection()) {
+            String prefix = explainPrefix(connection);
+            if (prefix == null) {
+                return "EXPLAIN not supported for " + connection.getMetaData().getDatabaseProductName();
+            }
+            try (PreparedStatement statement = connection.prepareStatement(prefix + sql)) {
+                for (Map.Entry<Integer, Object> parameter : parameters.entrySet()) {
+                    statement.setObject(parameter.getKey(), parameter.getValue());
+                }
+                try (ResultSet resultSet = statement.executeQuery()) {
+                    int columns = resultSet.getMetaData().getColumnCount();
+                    StringBuilder plan = new StringBuilder();
+                    while (resultSet.next()) {
+                        for (int i = 1; i <= columns; i++) {
+                            plan.append(i > 1 ? " | " : "").append(resultSet.getString(i));
+                        }
+                        plan.append('\n');
+                    }
+                    return plan.toString().trim();
+                }
+            }
+        }
+    }
+
+    // H2, MySQL/MariaDB, PostgreSQL 은 "EXPLAIN <select>" (그 외 DB는 실행 계획 조회 방식이 달라서 지원하지 않는다)
+    private String explainPrefix(Connection connection) throws SQLException {
+        if (explainPrefix == null) {
+            String product = connection.getMetaData().getDatabaseProductName().toLowerCase();
+            boolean supported = product.contains("h2") || product.contains("mysql") || product.contains("mariadb")
+                    || product.contains("postgresql");
+            explainPrefix = supported ? "EXPLAIN " : "";
+        }
+        return explainPrefix.isEmpty() ? null : explainPrefix;
+    }
+
+    private static class BoundParameters {
+        final PreparedStatementInformation statement;
+        final Map<Integer, Object> values = new HashMap<>();
+
+        BoundParameters(PreparedStatementInformation statement) {
+            this.statement = statement;
+        }
+    }
+
+    @Getter
+    public static class SlowQuery {
+        private final LocalDateTime executedAt;
+        private final double elapsedMillis;
+        private final String shape;
+        private final String sql;               // 바인딩 값 포함
+        private final String repositoryMethod;  // 리포지토리 밖에서 실행되었으면 null
+        private final String route;
+        private final String error;
+
+        SlowQuery(LocalDateTime executedAt, double elapsedMillis, String shape, String sql, String repositoryMethod,
+                  String route, String error) {
+            this.executedAt = executedAt;
+            this.elapsedMillis = elapsedMillis;
+            this.shape = shape;
+            this.sql = sql;
+            this.repositoryMethod = repositoryMethod;
+            this.route = route;
+            this.error = error;
+        }
+    }
+
+    private static class ShapeStats {
+        final String shape;
+        final SlowQuery first;
+        final LongAdder count = new LongAdder();
+        final LongAdder totalNanos = new LongAdder();
+        final LongAccumulator maxNanos = new LongAccumulator(Math::max, 0);
+        volatile String plan;
+
+        ShapeStats(String shape, SlowQuery first) {
+            this.shape = shape;
+            this.first = first;
+        }
+
+        void record(long nanos) {
+            count.increment();
+            totalNanos.add(nanos);
+            maxNanos.accumulate(nanos);
+        }
+    }
+
+    @Getter
+    public static class ShapeSnapshot {
+        private final String shape;
+        private final long count;
+        private final double totalMillis;
+        private final double meanMillis;
+        private final double maxMillis;
+        private final String repositoryMethod;   // 처음 느렸을 때
+        private final String sampleSql;
+        private final String plan;               // EXPLAIN 진행 중이거나 select 가 아니면 null
+
+        ShapeSnapshot(ShapeStats stats) {
+            this.shape = stats.shape;
+            this.count = stats.count.sum();
+            this.totalMillis = stats.totalNanos.sum() / 1_000_000.0;
+            this.meanMillis = count == 0 ? 0 : totalMillis / count;
+            this.maxMillis = stats.maxNanos.get() / 1_000_000.0;
+            this.repositoryMethod = stats.first.getRepositoryMethod();
+            this.sampleSql = stats.first.getSql();
+            this.plan = stats.plan;
+        }
+    }
+}
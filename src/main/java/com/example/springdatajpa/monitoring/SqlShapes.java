@@ -0,0 +1,27 @@
+package com.example.springdatajpa.monitoring;
+
+import java.util.regex.Pattern;
+
+// 실행된 SQL을 "모양(shape)" 기준으로 묶기 위한 정규화
+// 바인딩 파라미터는 이미 ? 이므로 공백/대소문자와 인라인 리터럴만 정리한다.
+public final class SqlShapes {
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+    private static final Pattern STRING_LITERAL = Pattern.compile("'(?:[^']|'')*'");
+    private static final Pattern NUMBER_LITERAL = Pattern.compile("-?\\b\\d+(?:\\.\\d+)?\\b");
+
+    private SqlShapes() {
+    }
+
+    public static String normalize(String sql) {
+        if (sql == null) {
+            return "";
+        }
+        String shape = STRING_LITERAL.matcher(sql).replaceAll("?");
+        shape = NUMBER_LITERAL.matcher(shape).replaceAll("?");
+        return WHITESPACE.matcher(shape).replaceAll(" ").trim().toLowerCase();
+    }
+
+    public static boolean isSelect(String shape) {
+        return shape.startsWith("select") || shape.startsWith("with");
+    }
+}
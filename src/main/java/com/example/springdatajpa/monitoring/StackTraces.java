@@ -0,0 +1,33 @@
+package com.example.springdatajpa.monitoring;
+
+import java.util.Arrays;
+import java.util.stream.Collectors;
+
+final class StackTraces {
+    private static final String APP_PACKAGE = "com.example.springdatajpa";
+    private static final String MONITORING_PACKAGE = APP_PACKAGE + ".monitoring";
+    private static final int MAX_FRAMES = 20;
+
+    private StackTraces() {
+    }
+
+    // 현재 호출 스택 중 애플리케이션 코드 프레임만 남긴다.
+    // 애플리케이션 프레임이 없으면(ex. Jackson 직렬화 중 지연로딩) 상위 프레임을 그대로 남긴다.
+    static String capture() {
+        StackTraceElement[] frames = Thread.currentThread().getStackTrace();
+        String appFrames = Arrays.stream(frames)
+                                 .filter(frame -> frame.getClassName().startsWith(APP_PACKAGE))
+                                 .filter(frame -> !frame.getClassName().startsWith(MONITORING_PACKAGE))
+                                 .limit(MAX_FRAMES)
+                                 .map(frame -> "\tat " + frame)
+                                 .collect(Collectors.joining("\n"));
+        if (!appFrames.isEmpty()) {
+            return appFrames;
+        }
+        return Arrays.stream(frames)
+                     .skip(2)
+                     .limit(MAX_FRAMES)
+                     .map(frame -> "\tat " + frame)
+                     .collect(Collectors.joining("\n"));
+    }
+}
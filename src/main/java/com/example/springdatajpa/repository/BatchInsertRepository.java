@@ -0,0 +1,11 @@
+package com.example.springdatajpa.repository;
+
+import org.springframework.transaction.annotation.Transactional;
+
+// 대량 저장 fragment : MemberRepository, TeamRepository 가 함께 사용한다.
+public interface BatchInsertRepository<T> {
+    // batchSize 건마다 JDBC batch insert 후 영속성 컨텍스트 초기화, 저장 건수 반환
+    // 주의) clear 하므로 호출 전에 영속 상태였던 다른 엔티티도 준영속이 된다.
+    @Transactional
+    int saveAllBatched(Iterable<T> entities, int batchSize);
+}
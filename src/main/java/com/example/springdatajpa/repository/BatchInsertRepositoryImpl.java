@@ -0,0 +1,28 @@
+package com.example.springdatajpa.repository;
+
+import lombok.RequiredArgsConstructor;
+
+import javax.persistence.EntityManager;
+
+@RequiredArgsConstructor
+public class BatchInsertRepositoryImpl<T> implements BatchInsertRepository<T> {
+    private final EntityManager em;
+
+    @Override
+    public int saveAllBatched(Iterable<T> entities, int batchSize) {
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("batchSize는 1 이상이어야 합니다: " + batchSize);
+        }
+        int count = 0;
+        for (T entity : entities) {
+            em.persist(entity);
+            if (++count % batchSize == 0) {
+                em.flush();
+                em.clear();
+            }
+        }
+        em.flush();
+        em.clear();
+        return count;
+    }
+}
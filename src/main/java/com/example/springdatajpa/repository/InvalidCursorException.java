@@ -0,0 +1,12 @@
+package com.example.springdatajpa.repository;
+
+// 커서 문자열이 잘못되었거나 커서 페이징을 지원하지 않는 정렬조건 (컨트롤러에서 400으로 응답)
+public class InvalidCursorException extends IllegalArgumentException {
+    public InvalidCursorException(String message) {
+        super(message);
+    }
+
+    public InvalidCursorException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
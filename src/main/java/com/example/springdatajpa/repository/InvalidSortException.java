@@ -0,0 +1,8 @@
+package com.example.springdatajpa.repository;
+
+// 지원하지 않는 정렬조건 (컨트롤러에서 400으로 응답)
+public class InvalidSortException extends IllegalArgumentException {
+    public InvalidSortException(String message) {
+        super(message);
+    }
+}
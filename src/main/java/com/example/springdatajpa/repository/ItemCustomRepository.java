@@ -0,0 +1,13 @@
+package com.example.springdatajpa.repository;
+
+import com.example.springdatajpa.dto.UpsertResult;
+import com.example.springdatajpa.entity.Item;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+
+public interface ItemCustomRepository {
+    // id가 할당된 Item을 merge(select 후 insert/update) 없이 batch upsert
+    @Transactional
+    UpsertResult upsertAll(Collection<Item> items);
+}
@@ -3,6 +3,6 @@ package com.example.springdatajpa.repository;
 import com.example.springdatajpa.entity.Item;
 import org.springframework.data.jpa.repository.JpaRepository;
 
-public interface ItemRepository extends JpaRepository<Item, Long> {
+public interface ItemRepository extends JpaRepository<Item, String>, ItemCustomRepository {
 
 }
@@ -0,0 +1,104 @@
+package com.example.springdatajpa.repository;
+
+import com.example.springdatajpa.dto.UpsertResult;
+import com.example.springdatajpa.entity.Item;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+
+import javax.annotation.PostConstruct;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+@RequiredArgsConstructor
+public class ItemRepositoryImpl implements ItemCustomRepository {
+    private static final int CHUNK_SIZE = 1000;
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private UpsertDialect dialect;
+
+    // 지원하지 않는 DB면 첫 upsert 가 아니라 애플리케이션 시작 시점에 실패한다.
+    @PostConstruct
+    void detectDialect() {
+        String product = jdbcTemplate.getJdbcTemplate().execute(
+                (ConnectionCallback<String>) con -> con.getMetaData().getDatabaseProductName());
+        dialect = UpsertDialect.of(product);
+    }
+
+    // Item은 Persistable이라 createdDate가 있으면 merge -> 엔티티마다 select가 한 번 더 나간다.
+    // JPA를 거치지 않고 CHUNK_SIZE 건씩 upsert 한 문장을 JDBC batch로 보낸다.
+    // insert/update 건수는 chunk마다 이미 있는 id를 한 번에 조회해서 구한다.
+    @Override
+    public UpsertResult upsertAll(Collection<Item> items) {
+        UpsertDialect upsertDialect = dialect;
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now()); // 새로 insert 되는 row의 createdDate
+
+        List<Item> chunk = new ArrayList<>(CHUNK_SIZE);
+        UpsertResult result = new UpsertResult(0, 0);
+        for (Item item : items) {
+            chunk.add(item);
+            if (chunk.size() == CHUNK_SIZE) {
+                result = result.plus(upsertChunk(upsertDialect, chunk, now));
+                chunk.clear();
+            }
+        }
+        if (!chunk.isEmpty()) {
+            result = result.plus(upsertChunk(upsertDialect, chunk, now));
+        }
+        return result;
+    }
+
+    private UpsertResult upsertChunk(UpsertDialect upsertDialect, List<Item> chunk, Timestamp now) {
+        Set<String> ids = new HashSet<>();
+        for (Item item : chunk) {
+            ids.add(item.getId());
+        }
+        List<String> existingIds = jdbcTemplate.queryForList("select id from item where id in (:ids)",
+                                                            Map.of("ids", ids), String.class);
+
+        jdbcTemplate.getJdbcTemplate().batchUpdate(upsertDialect.sql, chunk, chunk.size(), (ps, item) -> {
+            ps.setString(1, item.getId());
+            ps.setTimestamp(2, now);
+        });
+
+        // 같은 chunk 안의 중복 id는 한 건으로 센다.
+        return new UpsertResult(ids.size() - existingIds.size(), existingIds.size());
+    }
+
+    // 파라미터 : 1 = id, 2 = createdDate
+    // 이미 있는 row는 createdDate를 그대로 유지한다.
+    private enum UpsertDialect {
+        H2("merge into item (id, created_date) key (id) " +
+           "values (?1, coalesce((select i.created_date from item i where i.id = ?1), ?2))"),
+        POSTGRESQL("insert into item (id, created_date) values (?, ?) " +
+                   "on conflict (id) do update set created_date = item.created_date"),
+        MYSQL("insert into item (id, created_date) values (?, ?) " +
+              "on duplicate key update created_date = created_date");
+
+        private final String sql;
+
+        UpsertDialect(String sql) {
+            this.sql = sql;
+        }
+
+        static UpsertDialect of(String databaseProductName) {
+            String product = databaseProductName.toLowerCase();
+            if (product.contains("h2")) {
+                return H2;
+            }
+            if (product.contains("postgresql")) {
+                return POSTGRESQL;
+            }
+            if (product.contains("mysql") || product.contains("mariadb")) {
+                return MYSQL;
+            }
+            throw new IllegalStateException("upsert를 지원하지 않는 데이터베이스입니다: " + databaseProductName);
+        }
+    }
+}
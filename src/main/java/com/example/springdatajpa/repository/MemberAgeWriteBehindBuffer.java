@@ -0,0 +1,209 @@
+package com.example.springdatajpa.repository;
+
+import com.example.springdatajpa.entity.Member;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceUtils;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.annotation.PreDestroy;
+import javax.persistence.EntityManagerFactory;
+import java.sql.Connection;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+// 회원 나이 증감을 메모리에 모았다가 한 번에 batch update 하는 write-behind 버퍼
+// - 요청마다 update + 커밋 대신 id별 AtomicLong 에 CAS로 더하기만 한다. (락 없음)
+// - flush-interval-ms 마다, 또는 쌓인 증감 요청이 max-pending 개를 넘으면 flush
+// - 종료 시(@PreDestroy) 남은 증감을 flush
+// 주의) flush 전까지 DB/엔티티의 age 에는 반영되지 않는다. (pendingDelta, MemberRepository.findAgeWithPending)
+//      DB 값과 pendingDelta 를 함께 읽을 때는 readConsistently 안에서 읽어야 flush 와 섞이지 않는다.
+//      flush 가 가져간 증감은 커밋될 때까지 inFlight 에 남아서 pendingDelta 에 포함된다.
+@Slf4j
+@Component
+public class MemberAgeWriteBehindBuffer {
+    // flush 가 가져간 카운터 표시 : 이 값을 본 쓰기 스레드는 새 카운터를 만들어서 다시 더한다.
+    private static final long DEAD = Long.MIN_VALUE;
+
+    private final Map<Long, AtomicLong> pending = new ConcurrentHashMap<>();
+    // flush 가 가져갔지만 아직 커밋되지 않은 증감
+    private final Map<Long, Long> inFlight = new ConcurrentHashMap<>();
+    // flush 세대 (seqlock) : 버퍼 -> inFlight 로 옮기는 중이거나 DB에 쓰는 중이면 홀수
+    // flushLock 을 잡은 스레드만 바꾼다.
+    private volatile long generation;
+    private final LongAdder pendingOps = new LongAdder();
+    private final ReentrantLock flushLock = new ReentrantLock();
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final EntityManagerFactory entityManagerFactory;
+    private final int maxPending;
+
+    public MemberAgeWriteBehindBuffer(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+                                      EntityManagerFactory entityManagerFactory,
+                                      @Value("${app.write-behind.max-pending:10000}") int maxPending) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.entityManagerFactory = entityManagerFactory;
+        this.maxPending = maxPending;
+    }
+
+    public void addAge(Long memberId, int delta) {
+        accumulate(memberId, delta);
+        pendingOps.increment();
+        if (pendingOps.sum() >= maxPending && flushLock.tryLock()) {
+            // 이미 다른 스레드가 flush 중이면 기다리지 않는다.
+            try {
+                flushLocked();
+            } finally {
+                flushLock.unlock();
+            }
+        }
+    }
+
+    // 아직 DB에 반영되지 않은 증감 (flush 중이지만 커밋 전인 증감 포함)
+    public long pendingDelta(Long memberId) {
+        long delta = inFlight.getOrDefault(memberId, 0L);
+        AtomicLong counter = pending.get(memberId);
+        if (counter == null) {
+            return delta;
+        }
+        long value = counter.get();
+        return value == DEAD ? delta : delta + value;
+    }
+
+    // DB 조회와 pendingDelta 사이에 flush 가 끼면 같은 증감을 두 번 더하거나(DB 반영 후 버퍼 값을 읽음) 빠뜨릴 수 있으므로
+    // 두 값을 모두 read 안에서 읽고, 그 사이에 flush 세대가 바뀌었으면 다시 읽는다.
+    // 락을 잡지 않으므로 조회끼리, 조회와 flush 가 서로 막지 않는다. (DB 조회 중에 flushLock 을 잡지 않음)
+    // flush 가 DB에 쓰는 구간(커넥션을 얻은 뒤 ~ 커밋)에서만 다시 읽으므로 풀을 기다리는 flush 와 서로 기다리지 않는다.
+    public <T> T readConsistently(Supplier<T> read) {
+        while (true) {
+            long before = generation;
+            if ((before & 1) == 1) {
+                Thread.yield();
+                continue;
+            }
+            T result = read.get();
+            if (generation == before) {
+                return result;
+            }
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.write-behind.flush-interval-ms:1000}")
+    public void scheduledFlush() {
+        flush();
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        int rows = flush();
+        log.info("write-behind buffer flushed on shutdown, rows={}", rows);
+    }
+
+    // 반영한 회원 수
+    public int flush() {
+        flushLock.lock();
+        try {
+            return flushLocked();
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    private int flushLocked() {
+        // reset() 하면 이번에 가져가지 못한 증감의 카운트까지 지워지므로, 가져가기 전에 센 만큼만 뺀다.
+        // (addAge 는 accumulate 후 카운트하므로 여기서 센 요청의 증감은 아래에서 모두 가져간다)
+        long drainedOps = pendingOps.sum();
+        pendingOps.add(-drainedOps);
+        Map<Long, Long> deltas = new HashMap<>();
+        beginWrite();
+        try {
+            for (Map.Entry<Long, AtomicLong> entry : pending.entrySet()) {
+                long delta = entry.getValue().getAndSet(DEAD);
+                pending.remove(entry.getKey(), entry.getValue());
+                if (delta != 0 && delta != DEAD) {
+                    deltas.put(entry.getKey(), delta);
+                }
+            }
+            inFlight.putAll(deltas);
+        } finally {
+            endWrite();
+        }
+        if (deltas.isEmpty()) {
+            return 0;
+        }
+
+        List<Object[]> args = new ArrayList<>(deltas.size());
+        deltas.forEach((id, delta) -> args.add(new Object[]{delta, id}));
+        boolean committed = false;
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                // 커넥션을 실제로 얻은 뒤에 쓰기 구간을 시작한다. (LazyConnectionDataSourceProxy 는 첫 사용 때 얻는다)
+                jdbcTemplate.execute((ConnectionCallback<Connection>) DataSourceUtils::getTargetConnection);
+                beginWrite();
+                jdbcTemplate.batchUpdate(
+                        "update member set age = age + ?, version = version + 1, last_modified_date = current_timestamp where member_id = ?", args);
+            });
+            committed = true;
+        } catch (RuntimeException e) {
+            log.warn("write-behind flush failed, members={}", deltas.size(), e);
+        } finally {
+            // 커밋됐으면 inFlight 에서 지우고, 반영하지 못한 증감은 버퍼로 되돌린다.
+            beginWrite();
+            try {
+                deltas.keySet().forEach(inFlight::remove);
+                if (!committed) {
+                    deltas.forEach(this::accumulate);
+                    pendingOps.add(drainedOps);
+                }
+            } finally {
+                endWrite();
+            }
+        }
+        if (!committed) {
+            return 0;
+        }
+
+        // JDBC로 직접 수정했으므로 2차 캐시에서 제거
+        deltas.keySet().forEach(id -> entityManagerFactory.getCache().evict(Member.class, id));
+        return deltas.size();
+    }
+
+    private void beginWrite() {
+        if ((generation & 1) == 0) {
+            generation++;
+        }
+    }
+
+    private void endWrite() {
+        generation++;
+    }
+
+    private void accumulate(Long memberId, long delta) {
+        while (true) {
+            AtomicLong counter = pending.computeIfAbsent(memberId, id -> new AtomicLong());
+            long current = counter.get();
+            if (current == DEAD) {
+                pending.remove(memberId, counter);
+                continue;
+            }
+            if (counter.compareAndSet(current, current + delta)) {
+                return;
+            }
+        }
+    }
+}
@@ -0,0 +1,116 @@
+package com.example.springdatajpa.repository;
+
+import com.example.springdatajpa.entity.Member;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Sort;
+import org.springframework.util.StringUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Set;
+
+// Keyset(seek) 페이징 커서
+// 마지막으로 조회한 (정렬키, MEMBER_ID)를 담아 클라이언트에는 불투명한 문자열로 전달한다.
+// 정렬키가 null 인 회원은 방향과 관계없이 마지막에 온다. (nulls last)
+// 마지막 정렬키가 null 이면 null 구간을 조회 중이라는 뜻이다. (MemberRepositoryImpl.findByCursor 는 두 구간으로 나눠서 조회)
+@Getter
+@RequiredArgsConstructor(access = AccessLevel.PRIVATE)
+public class MemberCursor {
+    private static final Set<String> SORT_PROPERTIES = Set.of("id", "username", "age");
+    private static final String DELIMITER = "|";
+    // lastValue 앞에 붙여서 null 과 문자열 "null" 을 구분한다.
+    private static final char NULL_VALUE = '0';
+    private static final char NON_NULL_VALUE = '1';
+
+    private final String sortProperty;
+    private final Sort.Direction direction;
+    private final String lastValue;   // 첫 페이지이거나 마지막 회원의 정렬키가 null 이면 null
+    private final Long lastId;        // 첫 페이지면 null
+
+    // 첫 페이지 커서
+    public static MemberCursor first(String sortProperty, Sort.Direction direction) {
+        validate(sortProperty);
+        return new MemberCursor(sortProperty, direction, null, null);
+    }
+
+    // 현재 페이지의 마지막 회원으로 다음 페이지 커서 생성
+    public MemberCursor next(Member last) {
+        return new MemberCursor(sortProperty, direction, sortValueOf(last), last.getId());
+    }
+
+    // 커서 문자열이 비어있으면 첫 페이지, 아니면 커서에 담긴 정렬조건을 그대로 사용
+    public static MemberCursor decode(String encoded, String sortProperty, Sort.Direction direction) {
+        if (!StringUtils.hasText(encoded)) {
+            return first(sortProperty, direction);
+        }
+
+        try {
+            String decoded = new String(Base64.getUrlDecoder().decode(encoded), StandardCharsets.UTF_8);
+
+            // sortProperty|direction|lastId|lastValue (lastValue에는 구분자가 포함될 수 있으므로 마지막에 둔다)
+            String[] parts = decoded.split("\\" + DELIMITER, 4);
+            if (parts.length != 4 || parts[3].isEmpty()) {
+                throw new InvalidCursorException("잘못된 커서입니다: " + encoded);
+            }
+            validate(parts[0]);
+            String lastValue = decodeValue(parts[3]);
+            if ("age".equals(parts[0]) && lastValue != null) {
+                Integer.parseInt(lastValue);
+            }
+            return new MemberCursor(parts[0], Sort.Direction.fromString(parts[1]), lastValue, Long.valueOf(parts[2]));
+        } catch (InvalidCursorException e) {
+            throw e;
+        } catch (IllegalArgumentException e) {
+            // Base64, 방향, 숫자 형식 오류 (NumberFormatException 포함)
+            throw new InvalidCursorException("잘못된 커서입니다: " + encoded, e);
+        }
+    }
+
+    public String encode() {
+        String raw = sortProperty + DELIMITER + direction.name() + DELIMITER + lastId + DELIMITER + encodeValue(lastValue);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public boolean isFirst() {
+        return lastId == null;
+    }
+
+    // 마지막 회원의 정렬키가 null (null 구간 안에서 id 로만 이어서 조회)
+    public boolean isLastSortKeyNull() {
+        return !isFirst() && lastValue == null;
+    }
+
+    // JPQL 파라미터로 바인딩할 정렬키 값
+    public Object lastSortKey() {
+        return "age".equals(sortProperty) ? Integer.valueOf(lastValue) : lastValue;
+    }
+
+    private String sortValueOf(Member member) {
+        switch (sortProperty) {
+            case "username": return member.getUsername();
+            case "age": return String.valueOf(member.getAge());
+            default: return String.valueOf(member.getId());
+        }
+    }
+
+    private static String encodeValue(String value) {
+        return value == null ? String.valueOf(NULL_VALUE) : NON_NULL_VALUE + value;
+    }
+
+    private static String decodeValue(String encoded) {
+        switch (encoded.charAt(0)) {
+            case NULL_VALUE: return null;
+            case NON_NULL_VALUE: return encoded.substring(1);
+            default: throw new InvalidCursorException("잘못된 커서 값입니다: " + encoded);
+        }
+    }
+
+    private static void validate(String sortProperty) {
+        // JPQL에 그대로 들어가므로 허용된 프로퍼티만 받는다.
+        if (!SORT_PROPERTIES.contains(sortProperty)) {
+            throw new InvalidCursorException("커서 페이징을 지원하지 않는 정렬조건입니다: " + sortProperty);
+        }
+    }
+}
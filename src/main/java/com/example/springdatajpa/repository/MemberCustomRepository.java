@@ -1,9 +1,40 @@
 package com.example.springdatajpa.repository;
 
+import com.example.springdatajpa.dto.PageVersion;
 import com.example.springdatajpa.entity.Member;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 public interface MemberCustomRepository {
     List<Member> findAllMembersCustom();
+
+    // Keyset(seek) 페이징 : offset 없이 마지막 (정렬키, id) 이후부터 조회
+    Slice<Member> findMembersByCursor(MemberCursor cursor, int size);
+    Slice<Member> findMembersSliceByAgeAndCursor(int age, MemberCursor cursor, int size);
+
+    // 전체 회원 스트리밍 조회 (forward-only 커서, 반드시 트랜잭션 안에서 사용하고 close 해야 한다)
+    Stream<Member> streamAllMembers(int fetchSize);
+
+    // Specification 조회 : 같은 구조(shapeKey)면 렌더링된 JPQL을 재사용하고 파라미터 값만 바인딩
+    List<Member> findAllCached(ShapedSpecification<Member> spec);
+
+    // 나이 조회 : write-behind 버퍼에 쌓여있는 증감(MemberAgeWriteBehindBuffer)을 더한 값
+    Optional<Integer> findAgeWithPending(Long memberId);
+
+    // 페이지 조건부 GET 검증값 : 페이지에 들어가는 (회원 id, 회원 version, 팀 version)과 전체 건수를 합친 해시
+    // findAll(pageable), findMemberDtoPage(pageable) 과 같은 행을 같은 순서로 조회하지만 엔티티는 만들지 않는다.
+    // 비용 : 페이지 id/version 조회 1번 + count 1번 (첫/마지막 페이지는 count 생략)
+    //        304 가 아니면 본문 조회가 1번 더 필요하다. (전체 건수는 검증값의 total 재사용)
+    // 본문은 PageVersion.getPageable() 로 조회해야 검증값과 같은 순서가 된다. (정렬 끝에 id, 연관 경로 정렬은 InvalidSortException)
+    PageVersion findMembersPageVersion(Pageable pageable);
+
+    // 벌크성 수정 (나이 >= age 인 회원의 나이 + 1) : 수정한 회원의 id 반환 (대상 row 는 select ... for update 로 잠근다)
+    // 영속성 컨텍스트 전체를 비우지 않고, 수정 대상 회원만 준영속 상태로 만들고 2차 캐시에서 제거한다.
+    @Transactional
+    List<Long> bulkAgePlusAndEvict(int age);
 }
@@ -84,7 +84,7 @@ public class MemberJpaRepository {
     // 벌크성 수정 쿼리
     // 일정나이 이상의 회원에 대해 나이 = 나이 + 1
     public int bulkAgePlus(int age) {
-        String jpql = "update Member m set m.age = m.age + 1 where m.age >= :age";
+        String jpql = "update versioned Member m set m.age = m.age + 1, m.lastModifiedDate = current_timestamp where m.age >= :age";
         return em.createQuery(jpql)
                 .setParameter("age",age)
                 .executeUpdate();
@@ -0,0 +1,28 @@
+package com.example.springdatajpa.repository;
+
+import com.example.springdatajpa.dto.MemberDto;
+import com.example.springdatajpa.dto.UsernameOnlyDto;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+
+import java.util.List;
+
+// Projection 조회 : 스프링 데이터의 프록시 projection 대신 미리 만들어 둔 매퍼(ProjectionMappers)로 행을 바로 변환
+// 같은 이름의 기존 메서드(findProjectionsByUsername 등)와 결과가 같다.
+public interface MemberProjectionRepository {
+    // findProjectionsByUsername : @Value 의 'username age' 는 SELECT 절에서 계산한다.
+    List<UsernameOnly> findMappedProjectionsByUsername(String username);
+
+    // findClassProjectionsByUsername
+    List<UsernameOnlyDto> findMappedClassProjectionsByUsername(String username);
+
+    // findMemberDto
+    List<MemberDto> findMappedMemberDto();
+
+    // findMemberByNativeQueryProjections
+    Page<MemberProjection> findMappedMemberProjections(Pageable pageable);
+
+    // 동적 Projections : type 이 읽는 컬럼만 SELECT (중첩 projection 은 left join 한 컬럼), 엔티티를 만들지 않는다.
+    // 열린 projection(@Value)은 엔티티를 조회해서 스프링 데이터의 프록시로 변환한다.
+    <T> List<T> findDynamicProjectionsByUsername(String username, Class<T> type);
+}
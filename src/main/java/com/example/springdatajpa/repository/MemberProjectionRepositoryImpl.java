@@ -0,0 +1,138 @@
+package com.example.springdatajpa.repository;
+
+import com.example.springdatajpa.dto.MemberDto;
+import com.example.springdatajpa.dto.UsernameOnlyDto;
+import com.example.springdatajpa.entity.Member;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.mapping.PropertyPath;
+import org.springframework.data.projection.ProjectionFactory;
+import org.springframework.data.projection.SpelAwareProxyProjectionFactory;
+import org.springframework.data.support.PageableExecutionUtils;
+
+import javax.persistence.EntityManager;
+import javax.persistence.Query;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.StringJoiner;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+// 매퍼는 리포지토리 생성 시점(애플리케이션 시작)에 미리 만들어 둔다.
+public class MemberProjectionRepositoryImpl implements MemberProjectionRepository {
+    private final EntityManager em;
+    private final ProjectionRowMapper<UsernameOnly> usernameOnlyMapper;
+    private final ProjectionRowMapper<UsernameOnlyDto> usernameOnlyDtoMapper;
+    private final ProjectionRowMapper<MemberDto> memberDtoMapper;
+    private final ProjectionRowMapper<MemberProjection> memberProjectionMapper;
+    private final ProjectionMappers projectionMappers;
+    private final ProjectionFactory projectionFactory = new SpelAwareProxyProjectionFactory();
+    private final Map<Class<?>, String> dynamicJpql = new ConcurrentHashMap<>();
+
+    public MemberProjectionRepositoryImpl(EntityManager em, ProjectionMappers projectionMappers) {
+        this.em = em;
+        this.projectionMappers = projectionMappers;
+        this.usernameOnlyMapper = projectionMappers.mapper(UsernameOnly.class, "username");
+        this.usernameOnlyDtoMapper = projectionMappers.mapper(UsernameOnlyDto.class, "username");
+        this.memberDtoMapper = projectionMappers.mapper(MemberDto.class, "id", "username", "teamName");
+        this.memberProjectionMapper = projectionMappers.mapper(MemberProjection.class, "id", "username", "teamName");
+    }
+
+    @Override
+    public List<UsernameOnly> findMappedProjectionsByUsername(String username) {
+        Query query = em.createQuery("select concat(m.username, ' ', str(m.age)) from Member m where m.username = :username")
+                        .setParameter("username", username);
+        return map(query, usernameOnlyMapper);
+    }
+
+    @Override
+    public List<UsernameOnlyDto> findMappedClassProjectionsByUsername(String username) {
+        Query query = em.createQuery("select m.username from Member m where m.username = :username")
+                        .setParameter("username", username);
+        return map(query, usernameOnlyDtoMapper);
+    }
+
+    @Override
+    public List<MemberDto> findMappedMemberDto() {
+        return map(em.createQuery("select m.id, m.username, t.name from Member m join m.team t"), memberDtoMapper);
+    }
+
+    // 정렬(pageable.getSort())은 지원하지 않는다. (기존 네이티브 쿼리와 동일)
+    @Override
+    public Page<MemberProjection> findMappedMemberProjections(Pageable pageable) {
+        Query query = em.createNativeQuery("SELECT m.member_id as id, m.username, t.name as teamName " +
+                                           "FROM member m left join team t ON m.team_id = t.team_id");
+        if (pageable.isPaged()) {
+            query.setFirstResult((int) pageable.getOffset())
+                 .setMaxResults(pageable.getPageSize());
+        }
+        List<MemberProjection> content = map(query, memberProjectionMapper);
+        return PageableExecutionUtils.getPage(content, pageable, () ->
+                ((Number) em.createNativeQuery("SELECT count(*) from member").getSingleResult()).longValue());
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> List<T> findDynamicProjectionsByUsername(String username, Class<T> type) {
+        Optional<List<String>> properties = type.isAssignableFrom(Member.class)
+                ? Optional.empty()
+                : projectionMappers.properties(type);
+        if (properties.isEmpty()) {
+            List<Member> members = em.createQuery("select m from Member m where m.username = :username", Member.class)
+                                     .setParameter("username", username)
+                                     .getResultList();
+            if (type.isAssignableFrom(Member.class)) {
+                return (List<T>) members;
+            }
+            if (!type.isInterface()) {
+                throw new IllegalArgumentException(type.getName() + " 의 생성자 파라미터 이름을 알 수 없습니다.");
+            }
+            return members.stream()
+                          .map(member -> projectionFactory.createProjection(type, member))
+                          .collect(Collectors.toList());
+        }
+
+        String[] columns = properties.get().toArray(new String[0]);
+        String jpql = dynamicJpql.computeIfAbsent(type, key -> prunedJpql(columns) + " where m.username = :username");
+        return map(em.createQuery(jpql).setParameter("username", username), projectionMappers.mapper(type, columns));
+    }
+
+    // 프로퍼티 경로마다 컬럼 하나 : "team.name" -> left join m.team j0 ... select j0.name
+    // 인터페이스의 teamName 처럼 엔티티에 없는 이름은 PropertyPath 가 team.name 으로 해석한다.
+    private static String prunedJpql(String[] properties) {
+        StringJoiner select = new StringJoiner(", ", "select ", " from Member m");
+        StringBuilder joins = new StringBuilder();
+        Map<String, String> joinAliases = new HashMap<>();
+        for (String property : properties) {
+            String[] segments = PropertyPath.from(property, Member.class).toDotPath().split("\\.");
+            String alias = "m";
+            String path = "";
+            for (int i = 0; i < segments.length - 1; i++) {
+                path += segments[i] + ".";
+                String joinAlias = joinAliases.get(path);
+                if (joinAlias == null) {
+                    joinAlias = "j" + joinAliases.size();
+                    joinAliases.put(path, joinAlias);
+                    joins.append(" left join ").append(alias).append('.').append(segments[i]).append(' ').append(joinAlias);
+                }
+                alias = joinAlias;
+            }
+            select.add(alias + "." + segments[segments.length - 1]);
+        }
+        return select + joins.toString();
+    }
+
+    // 컬럼이 하나면 하이버네이트는 Object[] 대신 값 자체를 반환한다.
+    @SuppressWarnings("unchecked")
+    private static <T> List<T> map(Query query, ProjectionRowMapper<T> mapper) {
+        List<Object> rows = query.getResultList();
+        List<T> result = new ArrayList<>(rows.size());
+        for (Object row : rows) {
+            result.add(mapper.map(row instanceof Object[] ? (Object[]) row : new Object[]{row}));
+        }
+        return result;
+    }
+}
@@ -0,0 +1,25 @@
+package com.example.springdatajpa.repository;
+
+import com.example.springdatajpa.dto.MemberDto;
+import com.example.springdatajpa.dto.TeamMemberStatsDto;
+import com.example.springdatajpa.entity.Member;
+
+import java.util.List;
+import java.util.function.Consumer;
+
+// 읽기 전용 리포트 조회 (StatelessSession + forward-only 스크롤)
+// 1차 캐시/스냅샷/지연로딩이 없으므로 consumer 에 전달된 엔티티는 준영속이고, 연관 엔티티는 fetch join 한 것만 사용할 수 있다.
+// PostgreSQL 처럼 autocommit 상태에서는 fetchSize 단위로 가져오지 않는 DB는 readOnly 트랜잭션 안에서 호출한다.
+public interface MemberReportRepository {
+    // 전체 회원 스캔 (team 은 사용 불가), 처리 건수 반환
+    long scanAllMembers(Consumer<Member> consumer);
+
+    // 전체 회원 + 팀 스캔
+    long scanAllMembersWithTeam(Consumer<Member> consumer);
+
+    // 회원-팀 조인 결과를 DTO로 스캔
+    long scanMemberDtos(Consumer<MemberDto> consumer);
+
+    // 팀별 회원 수, 나이 평균/최소/최대 (팀이 없는 회원 제외)
+    List<TeamMemberStatsDto> teamMemberStats();
+}
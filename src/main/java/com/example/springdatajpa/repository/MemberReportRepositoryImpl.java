@@ -0,0 +1,82 @@
+package com.example.springdatajpa.repository;
+
+import com.example.springdatajpa.dto.MemberDto;
+import com.example.springdatajpa.dto.TeamMemberStatsDto;
+import com.example.springdatajpa.entity.Member;
+import org.hibernate.ScrollMode;
+import org.hibernate.ScrollableResults;
+import org.hibernate.SessionFactory;
+import org.hibernate.StatelessSession;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.datasource.DataSourceUtils;
+
+import javax.persistence.EntityManagerFactory;
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+// StatelessSession 은 스프링 트랜잭션에 참여하지 않으므로 커넥션을 DataSourceUtils 로 직접 얻는다.
+// (트랜잭션 안이면 같은 커넥션, 밖이면 새 커넥션을 얻고 반납한다)
+public class MemberReportRepositoryImpl implements MemberReportRepository {
+    private final SessionFactory sessionFactory;
+    private final DataSource dataSource;
+    private final int fetchSize;
+
+    public MemberReportRepositoryImpl(EntityManagerFactory entityManagerFactory, DataSource dataSource,
+                                      @Value("${app.member-report.fetch-size:1000}") int fetchSize) {
+        this.sessionFactory = entityManagerFactory.unwrap(SessionFactory.class);
+        this.dataSource = dataSource;
+        this.fetchSize = fetchSize;
+    }
+
+    @Override
+    public long scanAllMembers(Consumer<Member> consumer) {
+        return scroll("select m from Member m", Member.class, consumer);
+    }
+
+    @Override
+    public long scanAllMembersWithTeam(Consumer<Member> consumer) {
+        return scroll("select m from Member m left join fetch m.team", Member.class, consumer);
+    }
+
+    @Override
+    public long scanMemberDtos(Consumer<MemberDto> consumer) {
+        return scroll("select new com.example.springdatajpa.dto.MemberDto(m.id, m.username, t.name) " +
+                      "from Member m left join m.team t", MemberDto.class, consumer);
+    }
+
+    @Override
+    public List<TeamMemberStatsDto> teamMemberStats() {
+        return withStatelessSession(session -> session.createQuery(
+                "select new com.example.springdatajpa.dto.TeamMemberStatsDto(t.name, count(m), avg(m.age), min(m.age), max(m.age)) " +
+                "from Member m join m.team t group by t.name order by t.name", TeamMemberStatsDto.class)
+                .getResultList());
+    }
+
+    private <T> long scroll(String jpql, Class<T> resultType, Consumer<T> consumer) {
+        return withStatelessSession(session -> {
+            long count = 0;
+            try (ScrollableResults results = session.createQuery(jpql, resultType)
+                                                    .setFetchSize(fetchSize)
+                                                    .setReadOnly(true)
+                                                    .scroll(ScrollMode.FORWARD_ONLY)) {
+                while (results.next()) {
+                    consumer.accept(resultType.cast(results.get(0)));
+                    count++;
+                }
+            }
+            return count;
+        });
+    }
+
+    private <R> R withStatelessSession(Function<StatelessSession, R> work) {
+        Connection connection = DataSourceUtils.getConnection(dataSource);
+        try (StatelessSession session = sessionFactory.openStatelessSession(connection)) {
+            return work.apply(session);
+        } finally {
+            DataSourceUtils.releaseConnection(connection, dataSource);
+        }
+    }
+}
@@ -1,6 +1,7 @@
 package com.example.springdatajpa.repository;
 
 import com.example.springdatajpa.dto.MemberDto;
+import com.example.springdatajpa.dto.ResourceVersion;
 import com.example.springdatajpa.dto.UsernameOnlyDto;
 import com.example.springdatajpa.entity.Member;
 import org.springframework.data.domain.Page;
@@ -8,13 +9,19 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.*;
 import org.springframework.data.repository.query.Param;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.transaction.annotation.Transactional;
 
 import javax.persistence.LockModeType;
 import javax.persistence.QueryHint;
 import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 
-public interface MemberRepository extends JpaRepository<Member, Long>, MemberCustomRepository, JpaSpecificationExecutor<Member> {
+public interface MemberRepository extends JpaRepository<Member, Long>, MemberCustomRepository, MemberReportRepository,
+                                          MemberProjectionRepository, BatchInsertRepository<Member>,
+                                          JpaSpecificationExecutor<Member> {
     // 메서드명으로 쿼리 생성
     List<Member> findByUsernameAndAgeGreaterThan(String username, int age);
 
@@ -37,6 +44,26 @@ public interface MemberRepository extends JpaRepository<Member, Long>, MemberCus
             "from Member m join m.team t")
     List<MemberDto> findMemberDto();
 
+    // DTO로 직접 페이징 조회 : 엔티티/스냅샷을 만들지 않고 결과에서 바로 DTO 생성
+    @Transactional(readOnly = true)
+    @Query(value = "select new com.example.springdatajpa.dto.MemberDto(m.id, m.username, t.name) " +
+                   "from Member m left join m.team t",
+           countQuery = "select count(m) from Member m")
+    Page<MemberDto> findMemberDtoPage(Pageable pageable);
+
+    // 페이지 내용만 조회 (count 쿼리 없음) : 전체 건수와 pageable 은 findMembersPageVersion 에서 구한 값을 사용한다.
+    List<Member> findMemberListBy(Pageable pageable);
+
+    @Transactional(readOnly = true)
+    @Query("select new com.example.springdatajpa.dto.MemberDto(m.id, m.username, t.name) " +
+           "from Member m left join m.team t")
+    List<MemberDto> findMemberDtoList(Pageable pageable);
+
+    // 조건부 GET 검증값 : 엔티티를 로딩하지 않고 version, lastModifiedDate 만 조회
+    @Query("select new com.example.springdatajpa.dto.ResourceVersion(m.id, m.version, m.lastModifiedDate) " +
+           "from Member m where m.id = :id")
+    Optional<ResourceVersion> findMemberVersion(@Param("id") Long id);
+
     // 파라미터 바인딩 : 이름기반
     @Query("select m from Member m where m.username = :name")
     Member findMember(@Param("name") String username);
@@ -56,8 +83,9 @@ public interface MemberRepository extends JpaRepository<Member, Long>, MemberCus
 
     // 벌크성 수정 쿼리
     // 일정나이 이상의 회원에 대해 나이 = 나이 + 1
+    // versioned : 벌크 수정도 version 을 올려서 이미 조회해둔 엔티티의 낙관적 락이 충돌하도록 한다.
     @Modifying(clearAutomatically = true) // excuteUpate 실행, 없으면 error
-    @Query("update Member m set m.age = m.age + 1 where m.age >= :age")
+    @Query("update versioned Member m set m.age = m.age + 1, m.lastModifiedDate = current_timestamp where m.age >= :age")
     int bulkAgePlus(@Param("age") int age);
 
 
@@ -87,12 +115,15 @@ public interface MemberRepository extends JpaRepository<Member, Long>, MemberCus
     List<Member> findMemberNamedEntityGraph();
 
     // JPA Hint & Lock
-    // 쿼리 힌트
+    // 쿼리 힌트 (readOnly 트랜잭션이므로 읽기/쓰기 분리 시 replica에서 조회)
+    @Transactional(readOnly = true)
     @QueryHints(value = @QueryHint(name = "org.hibernate.readOnly", value = "true"))
     Member findMemberReadOnlyByUsername(@Param("username") String username);
 
     // LOCK : select for lock
+    // 락 대기 시간 제한(ms), 넘으면 LockTimeoutException/PessimisticLockException (DB에 따라 무시될 수 있다)
     @Lock(LockModeType.PESSIMISTIC_READ)
+    @QueryHints(@QueryHint(name = "javax.persistence.lock.timeout", value = "3000"))
     Member findMemberLockByUsername(@Param("username") String username);
 
     // Projections(인터페이스 기반 Closed Projections)
@@ -101,8 +132,7 @@ public interface MemberRepository extends JpaRepository<Member, Long>, MemberCus
     // 클래스 기반 Projection
     List<UsernameOnlyDto> findClassProjectionsByUsername(@Param("username") String username);
 
-    // 동적 Projections
-    <T> List<T> findDynamicProjectionsByUsername(String username, Class<T> type);
+    // 동적 Projections : 필요한 컬럼만 조회하도록 MemberProjectionRepositoryImpl 에서 구현
 
     // JPA 네이티브 SQL 지원
     @Query(value = "select * from Member where username = ?", nativeQuery = true)
@@ -114,4 +144,17 @@ public interface MemberRepository extends JpaRepository<Member, Long>, MemberCus
            countQuery = "SELECT count(*) from member",
            nativeQuery = true)
     Page<MemberProjection> findMemberByNativeQueryProjections(Pageable pageable);
+
+    // 비동기 조회 : repositoryExecutor 스레드에서 실행 (AsyncConfig)
+    // 다른 스레드의 트랜잭션에서 조회하므로 반환된 엔티티는 준영속 상태 -> 지연로딩 불가
+    @Async("repositoryExecutor")
+    CompletableFuture<List<Member>> findAsyncByUsername(String username);
+
+    @Async("repositoryExecutor")
+    CompletableFuture<Page<Member>> findAsyncPageByAge(int age, Pageable pageable);
+
+    @Async("repositoryExecutor")
+    @Query("select new com.example.springdatajpa.dto.MemberDto(m.id, m.username, t.name) " +
+            "from Member m join m.team t")
+    CompletableFuture<List<MemberDto>> findAsyncMemberDto();
 }
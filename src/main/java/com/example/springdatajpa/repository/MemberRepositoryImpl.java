@@ -1,18 +1,275 @@
 package com.example.springdatajpa.repository;
 
+import com.example.springdatajpa.dto.PageVersion;
 import com.example.springdatajpa.entity.Member;
 import lombok.RequiredArgsConstructor;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.hibernate.jpa.QueryHints;
+import org.hibernate.persister.entity.EntityPersister;
+import org.hibernate.query.NativeQuery;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.data.support.PageableExecutionUtils;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import javax.persistence.Cache;
 import javax.persistence.EntityManager;
+import javax.persistence.TypedQuery;
+import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.CriteriaQuery;
+import javax.persistence.criteria.Predicate;
+import javax.persistence.criteria.Root;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @RequiredArgsConstructor
 public class MemberRepositoryImpl implements MemberCustomRepository{
+    private static final int IN_CLAUSE_CHUNK_SIZE = 1000;
+    private static final long FNV_OFFSET_BASIS = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+
     private final EntityManager em;
+    private final SpecificationQueryCache specificationQueryCache;
+    private final MemberAgeWriteBehindBuffer memberAgeWriteBehindBuffer;
 
     @Override
     public List<Member> findAllMembersCustom() {
         return em.createQuery("select m from Member m")
                  .getResultList();
     }
+
+    @Override
+    public Slice<Member> findMembersByCursor(MemberCursor cursor, int size) {
+        return findByCursor(null, cursor, size);
+    }
+
+    @Override
+    public Slice<Member> findMembersSliceByAgeAndCursor(int age, MemberCursor cursor, int size) {
+        return findByCursor(age, cursor, size);
+    }
+
+    @Override
+    public Stream<Member> streamAllMembers(int fetchSize) {
+        // 하이버네이트는 getResultStream()을 ScrollMode.FORWARD_ONLY 로 처리한다.
+        // fetchSize 만큼씩 JDBC로 가져오므로 전체 결과를 List로 올리지 않는다.
+        return em.createQuery("select m from Member m left join fetch m.team", Member.class)
+                 .setHint(QueryHints.HINT_FETCH_SIZE, fetchSize)
+                 .setHint(QueryHints.HINT_READONLY, true)   // 스냅샷을 만들지 않음
+                 .getResultStream();
+    }
+
+    @Override
+    public List<Member> findAllCached(ShapedSpecification<Member> spec) {
+        String jpql = specificationQueryCache.jpql(Member.class, spec.getShapeKey(), () -> render(spec));
+        TypedQuery<Member> query = em.createQuery(jpql, Member.class);
+        spec.getParameters().forEach(query::setParameter);
+        return query.getResultList();
+    }
+
+    // Criteria -> JPQL (ParameterExpression은 :이름 으로 렌더링된다)
+    private String render(ShapedSpecification<Member> spec) {
+        CriteriaBuilder builder = em.getCriteriaBuilder();
+        CriteriaQuery<Member> criteria = builder.createQuery(Member.class);
+        Root<Member> root = criteria.from(Member.class);
+        Predicate predicate = spec.toParameterizedPredicate(root, criteria, builder);
+        if (predicate != null) {
+            criteria.where(predicate);
+        }
+        return em.createQuery(criteria).unwrap(org.hibernate.query.Query.class).getQueryString();
+    }
+
+    @Override
+    public Optional<Integer> findAgeWithPending(Long memberId) {
+        // DB 값과 버퍼의 증감을 flush 와 섞이지 않게 함께 읽는다.
+        return memberAgeWriteBehindBuffer.readConsistently(() ->
+                em.createQuery("select m.age from Member m where m.id = :id", Integer.class)
+                  .setParameter("id", memberId)
+                  .getResultStream()
+                  .findFirst()
+                  .map(age -> (int) (age + memberAgeWriteBehindBuffer.pendingDelta(memberId))));
+    }
+
+    @Override
+    public PageVersion findMembersPageVersion(Pageable requested) {
+        Pageable pageable = stablePageable(requested);
+        String jpql = QueryUtils.applySorting("select m.id, m.version, t.version from Member m left join m.team t",
+                                              pageable.getSort(), "m");
+        TypedQuery<Object[]> query = em.createQuery(jpql, Object[].class);
+        if (pageable.isPaged()) {
+            query.setFirstResult((int) pageable.getOffset())
+                 .setMaxResults(pageable.getPageSize());
+        }
+
+        List<Object[]> rows = query.getResultList();
+        long hash = FNV_OFFSET_BASIS;
+        for (Object[] row : rows) {
+            for (Object value : row) {
+                hash = (hash ^ (value == null ? -1L : ((Number) value).longValue())) * FNV_PRIME;
+            }
+        }
+        // 페이지 밖에서 추가/삭제되어도 totalElements, totalPages 가 바뀌므로 전체 건수도 포함
+        // 첫 페이지나 마지막 페이지처럼 조회한 행 수로 전체 건수를 알 수 있으면 count 쿼리를 생략한다.
+        long total = PageableExecutionUtils.getPage(rows, pageable, () ->
+                em.createQuery("select count(m) from Member m", Long.class).getSingleResult()).getTotalElements();
+
+        return new PageVersion("\"p" + total + "-" + Long.toHexString(hash) + "\"", total, pageable);
+    }
+
+    // 검증값 조회와 본문 조회는 별도 쿼리이므로 둘의 행 순서가 같아야 ETag 가 응답한 페이지와 맞는다.
+    // - 정렬이 없거나 유일하지 않은 정렬키면 순서가 정해지지 않으므로 마지막에 id 를 붙인다.
+    // - 연관 경로 정렬(team.name)은 한쪽 쿼리에만 inner join 이 추가되어 결과가 달라지므로 받지 않는다.
+    private static Pageable stablePageable(Pageable pageable) {
+        for (Sort.Order order : pageable.getSort()) {
+            if (order.getProperty().contains(".")) {
+                throw new InvalidSortException("페이지 조회에서 지원하지 않는 정렬조건입니다: " + order.getProperty());
+            }
+        }
+        if (pageable.isUnpaged() || pageable.getSort().getOrderFor("id") != null) {
+            return pageable;
+        }
+        return PageRequest.of(pageable.getPageNumber(), pageable.getPageSize(), pageable.getSort().and(Sort.by("id")));
+    }
+
+    @Override
+    public List<Long> bulkAgePlusAndEvict(int age) {
+        // 네이티브 쿼리는 자동 flush 대상이 아니므로 쓰기 지연된 변경을 먼저 반영
+        em.flush();
+
+        // 대상 row 를 select ... for update 로 잠그고 id 를 가져온다.
+        // 커밋할 때까지 다른 트랜잭션이 나이를 바꾸지 못하므로 아래 update 대상과 조회한 id 가 같다. (한 번의 벌크 update 와 동일)
+        List<?> lockedIds = em.createNativeQuery("select member_id from member where age >= :age for update")
+                              .setParameter("age", age)
+                              .getResultList();
+        List<Long> ids = lockedIds.stream()
+                                  .map(id -> ((Number) id).longValue())
+                                  .collect(Collectors.toList());
+
+        int updated = 0;
+        for (int from = 0; from < ids.size(); from += IN_CLAUSE_CHUNK_SIZE) {
+            List<Long> chunk = ids.subList(from, Math.min(from + IN_CLAUSE_CHUNK_SIZE, ids.size()));
+            // JPQL 벌크 연산은 member 리전 전체를 무효화하므로 네이티브 SQL로 실행하고
+            // 빈 query space를 지정해서 하이버네이트가 리전을 비우지 않도록 한다. (대상만 아래에서 직접 제거)
+            // 나이 조건도 다시 걸어서 조건에 맞지 않는 row 는 수정하지 않는다.
+            updated += em.createNativeQuery("update member set age = age + 1, version = version + 1, " +
+                                            "last_modified_date = current_timestamp " +
+                                            "where member_id in (:ids) and age >= :age")
+                         .unwrap(NativeQuery.class)
+                         .addSynchronizedQuerySpace("")
+                         .setParameterList("ids", chunk)
+                         .setParameter("age", age)
+                         .executeUpdate();
+        }
+        if (updated != ids.size()) {
+            // 잠근 row 가 수정되지 않는 경우는 없어야 한다. (잠금을 지원하지 않는 DB 등)
+            throw new IllegalStateException("locked " + ids.size() + " members but updated " + updated);
+        }
+
+        detach(ids);
+        evictSecondLevelCache(ids);
+        return ids;
+    }
+
+    // 수정된 회원 중 영속성 컨텍스트에 있는 것만 detach (나머지 엔티티는 그대로 영속 상태)
+    private void detach(List<Long> ids) {
+        SessionImplementor session = em.unwrap(SessionImplementor.class);
+        EntityPersister persister = session.getFactory().getMetamodel().entityPersister(Member.class);
+        for (Long id : ids) {
+            Object managed = session.getPersistenceContext().getEntity(session.generateEntityKey(id, persister));
+            if (managed != null) {
+                em.detach(managed);
+            }
+        }
+    }
+
+    // 2차 캐시는 id 단위로 제거
+    // 커밋 전에 다른 트랜잭션이 이전 값을 다시 캐시할 수 있으므로 트랜잭션 종료 후 한 번 더 제거한다.
+    private void evictSecondLevelCache(List<Long> ids) {
+        Cache cache = em.getEntityManagerFactory().getCache();
+        ids.forEach(id -> cache.evict(Member.class, id));
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    ids.forEach(id -> cache.evict(Member.class, id));
+                }
+            });
+        }
+    }
+
+    // 정렬키가 null 인 회원은 항상 마지막 구간이므로 두 구간으로 나눠서 조회한다.
+    // 1) 정렬키 구간 : where 정렬키 is not null and 정렬키 >= :lastKey and (정렬키 > :lastKey or id > :lastId) order by 정렬키, id
+    // 2) null 구간   : where 정렬키 is null and id > :lastId order by id
+    // 각 구간의 조건이 단순 범위 조건이라 인덱스(정렬키, MEMBER_ID)를 타고 바로 시작 위치를 찾으므로
+    // 페이지가 깊어져도 건너뛰는 row가 없다. (or 정렬키 is null 을 섞으면 범위 탐색이 안 되고 매번 전체 정렬)
+    // 커서의 마지막 정렬키가 null 이면 null 구간, 아니면 정렬키 구간이고 정렬키 구간이 페이지 안에서 끝나면 null 구간을 이어서 채운다.
+    private Slice<Member> findByCursor(Integer age, MemberCursor cursor, int size) {
+        boolean sortById = "id".equals(cursor.getSortProperty());
+
+        List<Member> content = new ArrayList<>(size + 1);
+        if (sortById || !cursor.isLastSortKeyNull()) {
+            content.addAll(findCursorSegment(age, cursor, false, size + 1));
+        }
+        // 다음 페이지 존재 여부를 count 쿼리 없이 알기 위해 size + 1 건을 조회
+        if (!sortById && content.size() <= size) {
+            content.addAll(findCursorSegment(age, cursor, true, size + 1 - content.size()));
+        }
+        boolean hasNext = content.size() > size;
+        if (hasNext) {
+            content = content.subList(0, size);
+        }
+
+        Sort sort = Sort.by(cursor.getDirection(), cursor.getSortProperty());
+        return new SliceImpl<>(content, PageRequest.of(0, size, sort), hasNext);
+    }
+
+    private List<Member> findCursorSegment(Integer age, MemberCursor cursor, boolean nullSegment, int limit) {
+        String property = "m." + cursor.getSortProperty();
+        String operator = cursor.getDirection().isAscending() ? ">" : "<";
+        String direction = cursor.getDirection().isAscending() ? "asc" : "desc";
+        boolean sortById = "id".equals(cursor.getSortProperty());
+        // null 구간으로 막 넘어온 경우에는 null 구간의 처음부터
+        boolean afterLastId = !cursor.isFirst() && (sortById || nullSegment == cursor.isLastSortKeyNull());
+        boolean afterLastKey = !sortById && !nullSegment && !cursor.isFirst();
+
+        StringBuilder jpql = new StringBuilder("select m from Member m where 1 = 1");
+        if (age != null) {
+            jpql.append(" and m.age = :age");
+        }
+        if (!sortById) {
+            jpql.append(" and ").append(property).append(nullSegment ? " is null" : " is not null");
+        }
+        if (afterLastKey) {
+            jpql.append(" and ").append(property).append(' ').append(operator).append("= :lastKey")
+                .append(" and (").append(property).append(' ').append(operator).append(" :lastKey")
+                .append(" or m.id ").append(operator).append(" :lastId)");
+        } else if (afterLastId) {
+            jpql.append(" and m.id ").append(operator).append(" :lastId");
+        }
+        jpql.append(" order by ");
+        if (!sortById && !nullSegment) {
+            jpql.append(property).append(' ').append(direction).append(", ");
+        }
+        jpql.append("m.id ").append(direction);
+
+        TypedQuery<Member> query = em.createQuery(jpql.toString(), Member.class);
+        if (age != null) {
+            query.setParameter("age", age);
+        }
+        if (afterLastKey || afterLastId) {
+            query.setParameter("lastId", cursor.getLastId());
+        }
+        if (afterLastKey) {
+            query.setParameter("lastKey", cursor.lastSortKey());
+        }
+        return query.setMaxResults(limit).getResultList();
+    }
 }
@@ -2,24 +2,30 @@ package com.example.springdatajpa.repository;
 
 import com.example.springdatajpa.entity.Member;
 import com.example.springdatajpa.entity.Team;
-import org.springframework.data.jpa.domain.Specification;
 import org.springframework.util.StringUtils;
 
 import javax.persistence.criteria.*;
+import java.util.Map;
 
+// 값이 아니라 조건의 구조로 shapeKey를 만든다. (findAllCached 에서 같은 구조의 JPQL을 재사용)
 public class MemberSpec {
-    public static Specification<Member> teamName(final String teamName) {
-        return (Specification<Member>) (root, query, builder) -> {
-            if (StringUtils.isEmpty(teamName)) {
-                return null;
-            }
+    public static ShapedSpecification<Member> teamName(final String teamName) {
+        if (StringUtils.isEmpty(teamName)) {
+            return ShapedSpecification.none("teamName:none");
+        }
+        return ShapedSpecification.of("teamName", Map.of("teamName", teamName), (root, query, builder, parameter) -> {
             Join<Member, Team> t = root.join("team", JoinType.INNER);
-            return builder.equal(t.get("name"), teamName);
-        };
+            return builder.equal(t.get("name"), parameter.apply("teamName"));
+        });
     }
 
 
-    public static Specification<Member> username(final String username) {
-        return (Specification<Member>) (root, query, builder) -> builder.equal(root.get("username"), username);
+    public static ShapedSpecification<Member> username(final String username) {
+        if (username == null) {
+            return ShapedSpecification.of("username:null", Map.of(),
+                    (root, query, builder, parameter) -> builder.isNull(root.get("username")));
+        }
+        return ShapedSpecification.of("username", Map.of("username", username),
+                (root, query, builder, parameter) -> builder.equal(root.get("username"), parameter.apply("username")));
     }
 }
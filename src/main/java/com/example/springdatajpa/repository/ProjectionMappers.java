@@ -0,0 +1,290 @@
+package com.example.springdatajpa.repository;
+
+import net.bytebuddy.ByteBuddy;
+import net.bytebuddy.description.modifier.Visibility;
+import net.bytebuddy.dynamic.DynamicType;
+import net.bytebuddy.dynamic.loading.ClassLoadingStrategy;
+import net.bytebuddy.implementation.FieldAccessor;
+import net.bytebuddy.implementation.ToStringMethod;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.DefaultParameterNameDiscoverer;
+import org.springframework.core.ParameterNameDiscoverer;
+import org.springframework.stereotype.Component;
+import org.springframework.util.ClassUtils;
+import org.springframework.util.StringUtils;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+import static net.bytebuddy.matcher.ElementMatchers.named;
+
+// 리플렉션/프록시 없이 조회 결과(Object[])를 projection 으로 변환하는 매퍼 생성기
+// 스프링 데이터의 projection 은 행마다 JDK 프록시 + Map 기반 accessor 를 만든다.
+// - 인터페이스 : getter 마다 필드를 가진 구현 클래스를 ByteBuddy 로 한 번 생성하고 생성자/필드 setter 를 MethodHandle 로 호출
+//   중첩 projection(NestedClosedProjection.TeamInfo)은 "team.name" 처럼 점으로 연결된 컬럼으로 채운다.
+// - 클래스(DTO) : 컬럼 수와 파라미터 수가 같은 생성자를 MethodHandle 로 호출
+// 매퍼는 (타입, 컬럼) 별로 한 번만 만들고 재사용한다. (리포지토리 생성 시점에 미리 만들어 둔다)
+// 주의) 열린 projection(@Value SpEL)은 평가하지 않는다. 같은 값을 SELECT 절에서 계산해서 프로퍼티 이름으로 넘겨야 한다.
+@Component
+public class ProjectionMappers {
+    private static final ParameterNameDiscoverer PARAMETER_NAMES = new DefaultParameterNameDiscoverer();
+
+    private final Map<String, ProjectionRowMapper<?>> mappers = new ConcurrentHashMap<>();
+    private final Map<Class<?>, Class<?>> implementations = new ConcurrentHashMap<>();
+    private final Map<Class<?>, Optional<List<String>>> propertyCache = new ConcurrentHashMap<>();
+
+    // columns : SELECT 절 순서대로의 컬럼(별칭) 이름, 인터페이스는 프로퍼티 이름과 매칭한다.
+    @SuppressWarnings("unchecked")
+    public <T> ProjectionRowMapper<T> mapper(Class<T> type, String... columns) {
+        String key = type.getName() + Arrays.toString(columns);
+        return (ProjectionRowMapper<T>) mappers.computeIfAbsent(key, k -> type.isInterface()
+                ? interfaceMapper(type, columns)
+                : constructorMapper(type, columns));
+    }
+
+    // projection 이 읽는 프로퍼티 경로 (SELECT 절에 필요한 컬럼)
+    // - 닫힌 인터페이스 : getter 이름, 중첩 projection 은 "team.name" 처럼 점으로 연결
+    // - 클래스(DTO) : 파라미터가 가장 많은 public 생성자의 파라미터 이름 (-parameters 로 컴파일되어 있어야 한다)
+    // 열린 projection(@Value), 컬렉션을 반환하는 getter 가 있거나 이름을 알 수 없으면 empty
+    public Optional<List<String>> properties(Class<?> type) {
+        return propertyCache.computeIfAbsent(type, key -> {
+            List<String> properties = new ArrayList<>();
+            boolean closed = key.isInterface()
+                    ? collectInterfaceProperties(key, "", properties)
+                    : collectConstructorProperties(key, properties);
+            return closed ? Optional.of(List.copyOf(properties)) : Optional.empty();
+        });
+    }
+
+    private static boolean collectInterfaceProperties(Class<?> type, String prefix, List<String> properties) {
+        for (Method method : type.getMethods()) {
+            if (method.isDefault() || Modifier.isStatic(method.getModifiers())) {
+                continue;
+            }
+            if (method.isAnnotationPresent(Value.class) || method.getParameterCount() > 0) {
+                return false;
+            }
+            String property = prefix + propertyName(method);
+            Class<?> returnType = method.getReturnType();
+            if (isNestedProjection(returnType)) {
+                if (!collectInterfaceProperties(returnType, property + ".", properties)) {
+                    return false;
+                }
+            } else if (Iterable.class.isAssignableFrom(returnType) || Map.class.isAssignableFrom(returnType)) {
+                return false;
+            } else {
+                properties.add(property);
+            }
+        }
+        return true;
+    }
+
+    private static boolean collectConstructorProperties(Class<?> type, List<String> properties) {
+        Constructor<?> constructor = Arrays.stream(type.getConstructors())
+                .max(Comparator.comparingInt(Constructor::getParameterCount))
+                .orElse(null);
+        String[] names = constructor == null ? null : PARAMETER_NAMES.getParameterNames(constructor);
+        if (names == null || names.length == 0) {
+            return false;
+        }
+        properties.addAll(Arrays.asList(names));
+        return true;
+    }
+
+    private static boolean isNestedProjection(Class<?> type) {
+        return type.isInterface() && !type.getName().startsWith("java.");
+    }
+
+    public int size() {
+        return mappers.size();
+    }
+
+    private ProjectionRowMapper<?> interfaceMapper(Class<?> type, String[] columns) {
+        List<Integer> indices = new ArrayList<>();
+        for (int i = 0; i < columns.length; i++) {
+            indices.add(i);
+        }
+        try {
+            RowReader reader = interfaceReader(type, columns, indices, "", false);
+            return reader::read;
+        } catch (NoSuchFieldException | NoSuchMethodException | IllegalAccessException e) {
+            throw new IllegalArgumentException(type.getName() + " 에 컬럼 " + Arrays.toString(columns) + " 을 매핑할 수 없습니다.", e);
+        }
+    }
+
+    // 컬럼 이름의 첫 segment 가 프로퍼티, "team.name" 처럼 점이 있으면 중첩 projection(team)의 프로퍼티
+    // 중첩 projection 은 값이 모두 null 이면(left join 대상 없음) 만들지 않고 null 로 둔다.
+    private RowReader interfaceReader(Class<?> type, String[] columns, List<Integer> indices, String prefix,
+                                      boolean nullable)
+            throws NoSuchFieldException, NoSuchMethodException, IllegalAccessException {
+        Class<?> implementation = implementations.computeIfAbsent(type, this::implement);
+        MethodHandles.Lookup lookup = MethodHandles.lookup();
+        MethodHandle constructor = lookup.findConstructor(implementation, MethodType.methodType(void.class))
+                                         .asType(MethodType.methodType(Object.class));
+
+        Map<String, List<Integer>> properties = new LinkedHashMap<>();
+        for (int index : indices) {
+            String path = columns[index].substring(prefix.length());
+            int dot = path.indexOf('.');
+            properties.computeIfAbsent(dot < 0 ? path : path.substring(0, dot), k -> new ArrayList<>()).add(index);
+        }
+
+        List<MethodHandle> setters = new ArrayList<>();
+        List<RowReader> readers = new ArrayList<>();
+        for (Map.Entry<String, List<Integer>> property : properties.entrySet()) {
+            String name = property.getKey();
+            Class<?> fieldType = implementation.getField(name).getType();
+            setters.add(lookup.findSetter(implementation, name, fieldType)
+                              .asType(MethodType.methodType(void.class, Object.class, Object.class)));
+            List<Integer> propertyIndices = property.getValue();
+            if (propertyIndices.size() == 1 && columns[propertyIndices.get(0)].equals(prefix + name)) {
+                int index = propertyIndices.get(0);
+                Function<Object, Object> converter = converter(fieldType);
+                readers.add(row -> convert(converter, row[index]));
+            } else {
+                readers.add(interfaceReader(fieldType, columns, propertyIndices, prefix + name + ".", true));
+            }
+        }
+
+        MethodHandle[] setterArray = setters.toArray(new MethodHandle[0]);
+        RowReader[] readerArray = readers.toArray(new RowReader[0]);
+        int[] leafIndices = indices.stream().mapToInt(Integer::intValue).toArray();
+        return row -> {
+            if (nullable && allNull(row, leafIndices)) {
+                return null;
+            }
+            try {
+                Object projection = (Object) constructor.invokeExact();
+                for (int i = 0; i < setterArray.length; i++) {
+                    setterArray[i].invokeExact(projection, readerArray[i].read(row));
+                }
+                return projection;
+            } catch (Throwable e) {
+                throw rethrow(e);
+            }
+        };
+    }
+
+    private static boolean allNull(Object[] row, int[] indices) {
+        for (int index : indices) {
+            if (row[index] != null) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // getter 마다 같은 이름의 public 필드를 만들고 getter 는 필드를 그대로 반환한다.
+    private Class<?> implement(Class<?> type) {
+        DynamicType.Builder<Object> builder = new ByteBuddy()
+                .subclass(Object.class)
+                .implement(type)
+                .name(type.getName() + "$$Mapped")
+                .method(named("toString")).intercept(ToStringMethod.prefixedBySimpleClassName());
+        for (Method method : type.getMethods()) {
+            if (method.isDefault() || Modifier.isStatic(method.getModifiers())) {
+                continue;
+            }
+            String property = propertyName(method);
+            builder = builder.defineField(property, method.getReturnType(), Visibility.PUBLIC)
+                             .method(named(method.getName())).intercept(FieldAccessor.ofField(property));
+        }
+        return builder.make()
+                      .load(type.getClassLoader(), ClassLoadingStrategy.Default.WRAPPER)
+                      .getLoaded();
+    }
+
+    private ProjectionRowMapper<?> constructorMapper(Class<?> type, String[] columns) {
+        Constructor<?> constructor = Arrays.stream(type.getConstructors())
+                .filter(candidate -> candidate.getParameterCount() == columns.length)
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException(
+                        type.getName() + " 에 파라미터가 " + columns.length + "개인 public 생성자가 없습니다."));
+        try {
+            MethodHandle handle = MethodHandles.lookup().unreflectConstructor(constructor)
+                                               .asSpreader(Object[].class, columns.length)
+                                               .asType(MethodType.methodType(Object.class, Object[].class));
+            Function<Object, Object>[] converters = converters(columns.length);
+            Class<?>[] parameterTypes = constructor.getParameterTypes();
+            for (int i = 0; i < columns.length; i++) {
+                converters[i] = converter(parameterTypes[i]);
+            }
+            return row -> {
+                try {
+                    // 행 배열은 쿼리 결과마다 새로 만들어지므로 그대로 변환해서 생성자 인자로 쓴다.
+                    for (int i = 0; i < converters.length; i++) {
+                        row[i] = convert(converters[i], row[i]);
+                    }
+                    return (Object) handle.invokeExact(row);
+                } catch (Throwable e) {
+                    throw rethrow(e);
+                }
+            };
+        } catch (IllegalAccessException e) {
+            throw new IllegalArgumentException(type.getName() + " 의 생성자에 접근할 수 없습니다.", e);
+        }
+    }
+
+    private static String propertyName(Method method) {
+        String name = method.getName();
+        if (method.getParameterCount() == 0 && name.startsWith("get") && name.length() > 3) {
+            return StringUtils.uncapitalize(name.substring(3));
+        }
+        if (method.getParameterCount() == 0 && name.startsWith("is") && name.length() > 2
+                && ClassUtils.resolvePrimitiveIfNecessary(method.getReturnType()) == Boolean.class) {
+            return StringUtils.uncapitalize(name.substring(2));
+        }
+        throw new IllegalArgumentException("projection 인터페이스에는 getter 만 선언할 수 있습니다: " + method);
+    }
+
+    // 네이티브 쿼리는 DB 타입에 따라 Integer/BigInteger/BigDecimal 등으로 내려오므로 숫자 타입만 맞춰준다.
+    private static Function<Object, Object> converter(Class<?> targetType) {
+        Class<?> type = ClassUtils.resolvePrimitiveIfNecessary(targetType);
+        if (type == Long.class) {
+            return value -> value instanceof Number && !(value instanceof Long) ? ((Number) value).longValue() : value;
+        }
+        if (type == Integer.class) {
+            return value -> value instanceof Number && !(value instanceof Integer) ? ((Number) value).intValue() : value;
+        }
+        if (type == String.class) {
+            return value -> value == null || value instanceof String ? value : value.toString();
+        }
+        return null;
+    }
+
+    private static Object convert(Function<Object, Object> converter, Object value) {
+        return converter == null ? value : converter.apply(value);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Function<Object, Object>[] converters(int size) {
+        return (Function<Object, Object>[]) new Function<?, ?>[size];
+    }
+
+    private interface RowReader {
+        Object read(Object[] row);
+    }
+
+    private static RuntimeException rethrow(Throwable e) {
+        if (e instanceof RuntimeException) {
+            return (RuntimeException) e;
+        }
+        if (e instanceof Error) {
+            throw (Error) e;
+        }
+        return new IllegalStateException(e);
+    }
+}
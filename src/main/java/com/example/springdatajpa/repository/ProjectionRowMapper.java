@@ -0,0 +1,7 @@
+package com.example.springdatajpa.repository;
+
+// 조회 결과 한 행(Object[], SELECT 절 순서)을 projection 객체로 변환
+@FunctionalInterface
+public interface ProjectionRowMapper<T> {
+    T map(Object[] row);
+}
@@ -0,0 +1,103 @@
+package com.example.springdatajpa.repository;
+
+import lombok.Getter;
+import org.springframework.data.jpa.domain.Specification;
+
+import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.CriteriaQuery;
+import javax.persistence.criteria.Expression;
+import javax.persistence.criteria.Predicate;
+import javax.persistence.criteria.Root;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Function;
+
+// 구조(shapeKey)와 파라미터 값을 분리한 Specification
+// - toPredicate : 값을 그대로 넣은 일반 Specification (JpaSpecificationExecutor.findAll 에서 그대로 사용 가능)
+// - toParameterizedPredicate : 값 대신 이름 있는 파라미터(:name)로 렌더링 -> 같은 shapeKey면 JPQL을 재사용할 수 있다.
+public class ShapedSpecification<T> implements Specification<T> {
+    private static final String LEFT = "l_";
+    private static final String RIGHT = "r_";
+
+    @Getter
+    private final String shapeKey;
+    @Getter
+    private final Map<String, Object> parameters;
+    private final PredicateFactory<T> predicateFactory;
+
+    @FunctionalInterface
+    public interface PredicateFactory<T> {
+        // parameter : 파라미터 이름 -> 식 (값 또는 ParameterExpression)
+        Predicate create(Root<T> root, CriteriaQuery<?> query, CriteriaBuilder builder,
+                         Function<String, Expression<?>> parameter);
+    }
+
+    private ShapedSpecification(String shapeKey, Map<String, Object> parameters, PredicateFactory<T> predicateFactory) {
+        this.shapeKey = shapeKey;
+        this.parameters = Collections.unmodifiableMap(parameters);
+        this.predicateFactory = predicateFactory;
+    }
+
+    public static <T> ShapedSpecification<T> of(String shapeKey, Map<String, Object> parameters,
+                                                PredicateFactory<T> predicateFactory) {
+        return new ShapedSpecification<>(shapeKey, new LinkedHashMap<>(parameters), predicateFactory);
+    }
+
+    // 조건이 없는 경우 (where 절에서 빠진다)
+    public static <T> ShapedSpecification<T> none(String shapeKey) {
+        return new ShapedSpecification<>(shapeKey, Map.of(), (root, query, builder, parameter) -> null);
+    }
+
+    @Override
+    public Predicate toPredicate(Root<T> root, CriteriaQuery<?> query, CriteriaBuilder builder) {
+        return predicateFactory.create(root, query, builder, name -> builder.literal(parameterValue(name)));
+    }
+
+    public Predicate toParameterizedPredicate(Root<T> root, CriteriaQuery<?> query, CriteriaBuilder builder) {
+        return predicateFactory.create(root, query, builder,
+                name -> builder.parameter(parameterValue(name).getClass(), name));
+    }
+
+    public ShapedSpecification<T> and(ShapedSpecification<T> other) {
+        return combine(other, "and", CriteriaBuilder::and);
+    }
+
+    public ShapedSpecification<T> or(ShapedSpecification<T> other) {
+        return combine(other, "or", CriteriaBuilder::or);
+    }
+
+    // 양쪽에서 같은 파라미터 이름을 써도 되도록 왼쪽은 l_, 오른쪽은 r_ 를 붙여서 합친다.
+    // ex) username(a).or(username(b)) -> :l_username, :r_username
+    // 붙는 접두사는 shapeKey 의 괄호 구조로 정해지므로 shapeKey 가 같으면 렌더링된 파라미터 이름도 같다.
+    private ShapedSpecification<T> combine(ShapedSpecification<T> other, String operator,
+                                           Combiner combiner) {
+        Map<String, Object> merged = new LinkedHashMap<>();
+        parameters.forEach((name, value) -> merged.put(LEFT + name, value));
+        other.parameters.forEach((name, value) -> merged.put(RIGHT + name, value));
+
+        PredicateFactory<T> left = predicateFactory;
+        PredicateFactory<T> right = other.predicateFactory;
+        return new ShapedSpecification<>("(" + shapeKey + ") " + operator + " (" + other.shapeKey + ")", merged,
+                (root, query, builder, parameter) -> {
+                    Predicate l = left.create(root, query, builder, name -> parameter.apply(LEFT + name));
+                    Predicate r = right.create(root, query, builder, name -> parameter.apply(RIGHT + name));
+                    if (l == null) {
+                        return r;
+                    }
+                    return r == null ? l : combiner.combine(builder, l, r);
+                });
+    }
+
+    private Object parameterValue(String name) {
+        Object value = parameters.get(name);
+        if (value == null) {
+            throw new IllegalArgumentException("파라미터 값이 없습니다: " + name);
+        }
+        return value;
+    }
+
+    private interface Combiner {
+        Predicate combine(CriteriaBuilder builder, Predicate left, Predicate right);
+    }
+}
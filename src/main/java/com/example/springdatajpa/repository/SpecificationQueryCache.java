@@ -0,0 +1,90 @@
+package com.example.springdatajpa.repository;
+
+import lombok.Getter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+// ShapedSpecification 의 shapeKey 별로 렌더링된 JPQL 캐시
+// JPQL 문자열이 같으면 하이버네이트 QueryPlanCache 에서 파싱된 plan(SQL)도 재사용된다.
+@Component
+public class SpecificationQueryCache {
+    private final int maxSize;
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+    private final LongAdder uncached = new LongAdder();
+
+    public SpecificationQueryCache(@Value("${app.specification-cache.max-size:500}") int maxSize) {
+        this.maxSize = maxSize;
+    }
+
+    String jpql(Class<?> domainClass, String shapeKey, Supplier<String> renderer) {
+        String key = domainClass.getName() + "#" + shapeKey;
+        Entry entry = entries.get(key);
+        if (entry != null) {
+            entry.hits.increment();
+            return entry.jpql;
+        }
+
+        String jpql = renderer.get();
+        if (entries.size() >= maxSize) {
+            // shapeKey 에 값이 섞여서 무한히 늘어나는 경우를 막는다.
+            uncached.increment();
+            return jpql;
+        }
+        entry = entries.computeIfAbsent(key, k -> new Entry(jpql));
+        entry.misses.increment();
+        return entry.jpql;
+    }
+
+    public long uncachedCount() {
+        return uncached.sum();
+    }
+
+    public List<ShapeSnapshot> snapshot() {
+        return entries.entrySet().stream()
+                      .map(e -> new ShapeSnapshot(e.getKey(), e.getValue()))
+                      .sorted(Comparator.comparingLong(ShapeSnapshot::getRequests).reversed())
+                      .collect(Collectors.toList());
+    }
+
+    private static class Entry {
+        final String jpql;
+        final LongAdder hits = new LongAdder();
+        final LongAdder misses = new LongAdder();
+
+        Entry(String jpql) {
+            this.jpql = jpql;
+        }
+    }
+
+    @Getter
+    public static class ShapeSnapshot {
+        private final String shape;
+        private final String jpql;
+        private final long hits;
+        private final long misses;
+
+        ShapeSnapshot(String shape, Entry entry) {
+            this.shape = shape;
+            this.jpql = entry.jpql;
+            this.hits = entry.hits.sum();
+            this.misses = entry.misses.sum();
+        }
+
+        public long getRequests() {
+            return hits + misses;
+        }
+
+        public double getHitRatio() {
+            long requests = getRequests();
+            return requests == 0 ? 0 : (double) hits / requests;
+        }
+    }
+}
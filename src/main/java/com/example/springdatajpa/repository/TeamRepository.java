@@ -3,6 +3,6 @@ package com.example.springdatajpa.repository;
 import com.example.springdatajpa.entity.Team;
 import org.springframework.data.jpa.repository.JpaRepository;
 
-public interface TeamRepository extends JpaRepository<Team, Long> {
+public interface TeamRepository extends JpaRepository<Team, Long>, BatchInsertRepository<Team> {
 
 }
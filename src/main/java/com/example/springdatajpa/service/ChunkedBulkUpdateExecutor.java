@@ -0,0 +1,296 @@
+package com.example.springdatajpa.service;
+
+import com.example.springdatajpa.dto.BulkJobProgress;
+import com.example.springdatajpa.entity.BaseEntity;
+import com.example.springdatajpa.entity.BulkJobCheckpoint;
+import com.example.springdatajpa.entity.JpaBaseEntity;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.persistence.EntityManager;
+import javax.persistence.LockModeType;
+import javax.persistence.PersistenceContext;
+import javax.persistence.Query;
+import javax.persistence.metamodel.EntityType;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+
+// JPQL update/delete 를 id 범위 청크로 나눠서 청크마다 커밋한다.
+// - 한 트랜잭션으로 수천만 건을 수정하면서 락과 undo를 오래 잡지 않도록 chunkSize 개의 id 범위씩 처리
+// - 청크와 체크포인트(BulkJobCheckpoint)를 같은 트랜잭션에서 커밋하므로 실패 후 같은 jobName으로 다시 실행하면 이어서 처리
+//   (JPQL과 파라미터가 모두 같아야 이어서 실행, 다른 runner 가 lease 를 잡고 있으면 실행하지 않는다)
+// - 이미 완료된 작업은 다시 실행하지 않고 완료된 진행 상황을 돌려준다. (age = age + 1 같은 set 절이 두 번 적용되지 않도록)
+//   다시 실행하려면 다른 jobName 을 사용한다.
+// - 청크 사이에 throttle 만큼 쉬어서 다른 트랜잭션에 DB를 양보
+// - id 범위로 청크를 나누므로 id 가 정수(Long, Integer, Short)인 엔티티만 대상
+// 호출자 JPQL을 고치지 않도록 엔티티, 별칭, set 절, where 절을 따로 받아서 JPQL을 만든다.
+// - update 는 @Version 이 있으면 versioned 로 실행하고, 수정일(lastModifiedDate / updatedDate)도 같이 갱신한다.
+//   (이미 조회한 엔티티의 낙관적 락과 ETag 가 벌크 수정 이후에도 맞도록)
+// ex) update("member-age-plus", Member.class, "m", "m.age = m.age + 1", "m.age >= :age", Map.of("age", 20))
+@Slf4j
+@Component
+public class ChunkedBulkUpdateExecutor {
+    private static final Pattern ALIAS = Pattern.compile("[A-Za-z_]\\w*");
+
+    @PersistenceContext
+    private EntityManager em;
+
+    private final TransactionTemplate chunkTransaction;
+    private final int chunkSize;
+    private final Duration throttle;
+    private final Duration lease;
+    private final Map<String, BulkJobProgress> progress = new ConcurrentHashMap<>();
+
+    public ChunkedBulkUpdateExecutor(PlatformTransactionManager transactionManager,
+                                     @Value("${app.bulk-job.chunk-size:10000}") int chunkSize,
+                                     @Value("${app.bulk-job.throttle:0ms}") Duration throttle,
+                                     @Value("${app.bulk-job.lease:5m}") Duration lease) {
+        this.chunkTransaction = new TransactionTemplate(transactionManager);
+        this.chunkTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.chunkSize = validateChunkSize(chunkSize);
+        this.throttle = throttle;
+        this.lease = lease;
+    }
+
+    // where 는 없으면 null, 파라미터는 where / set 절에서 사용하는 이름 기반 파라미터
+    public BulkJobProgress update(String jobName, Class<?> entityType, String alias, String setClause,
+                                  String where, Map<String, ?> parameters) {
+        return update(jobName, entityType, alias, setClause, where, parameters, chunkSize, throttle);
+    }
+
+    public BulkJobProgress update(String jobName, Class<?> entityType, String alias, String setClause,
+                                  String where, Map<String, ?> parameters, int chunkSize, Duration throttle) {
+        return execute(jobName, entityType, alias, updateJpql(entityType, alias, setClause), where, parameters,
+                       chunkSize, throttle);
+    }
+
+    public BulkJobProgress delete(String jobName, Class<?> entityType, String alias,
+                                  String where, Map<String, ?> parameters) {
+        return delete(jobName, entityType, alias, where, parameters, chunkSize, throttle);
+    }
+
+    public BulkJobProgress delete(String jobName, Class<?> entityType, String alias,
+                                  String where, Map<String, ?> parameters, int chunkSize, Duration throttle) {
+        return execute(jobName, entityType, alias, "delete from " + entityName(entityType) + " " + alias, where,
+                       parameters, chunkSize, throttle);
+    }
+
+    // 체크포인트에 저장되는 JPQL (청크 범위 조건 제외)
+    public String jpql(String statement, String where) {
+        return where == null ? statement : statement + " where " + where;
+    }
+
+    public String updateJpql(Class<?> entityType, String alias, String setClause) {
+        validateAlias(alias);
+        EntityType<?> entity = em.getMetamodel().entity(entityType);
+        StringBuilder jpql = new StringBuilder("update ");
+        if (entity.hasVersionAttribute()) {
+            jpql.append("versioned ");
+        }
+        jpql.append(entity.getName()).append(' ').append(alias).append(" set ").append(setClause);
+        if (BaseEntity.class.isAssignableFrom(entityType)) {
+            jpql.append(", ").append(alias).append(".lastModifiedDate = current_timestamp");
+        } else if (JpaBaseEntity.class.isAssignableFrom(entityType)) {
+            jpql.append(", ").append(alias).append(".updatedDate = current_timestamp");
+        }
+        return jpql.toString();
+    }
+
+    // 파라미터를 이름 순으로 직렬화 (체크포인트 비교용)
+    public static String serialize(Map<String, ?> parameters) {
+        return new TreeMap<>(parameters).toString();
+    }
+
+    private BulkJobProgress execute(String jobName, Class<?> entityType, String alias, String statement, String where,
+                                    Map<String, ?> parameters, int chunkSize, Duration throttle) {
+        validateAlias(alias);
+        // 청크 끝이 lastId 보다 커지지 않으면 빈 청크만 커밋하면서 끝나지 않는다.
+        validateChunkSize(chunkSize);
+        Class<?> idType = idType(entityType);
+        String jpql = jpql(statement, where);
+        // 호출자 where 절은 괄호로 감싸서 그대로 두고 범위 조건만 and 로 붙인다. (서브쿼리의 where 와 섞이지 않음)
+        String range = alias + ".id > :chunkStartExclusive and " + alias + ".id <= :chunkEnd";
+        String chunkedJpql = where == null
+                ? statement + " where " + range
+                : statement + " where (" + where + ") and " + range;
+
+        String owner = UUID.randomUUID().toString();
+        BulkJobCheckpoint checkpoint = startOrResume(jobName, jpql, serialize(parameters),
+                                                     entityName(entityType), alias, owner);
+        long processedAtStart = checkpoint.getProcessedRows();
+        long startNanos = System.nanoTime();
+        record(checkpoint, chunkSize, 0, startNanos);
+
+        try {
+            while (!checkpoint.isCompleted()) {
+                long chunkStartExclusive = checkpoint.getLastId();
+                long chunkEnd = Math.min(chunkStartExclusive + chunkSize, checkpoint.getMaxId());
+
+                checkpoint = chunkTransaction.execute(status -> {
+                    // 체크포인트 row 를 먼저 잠그고 lease 를 확인한다. (lease 가 만료되어 다른 runner 가 가져간 경우 중단)
+                    BulkJobCheckpoint current = em.find(BulkJobCheckpoint.class, jobName, LockModeType.PESSIMISTIC_WRITE);
+                    if (current == null || !current.isOwnedBy(owner)) {
+                        throw new IllegalStateException("다른 실행이 작업을 가져갔습니다: " + jobName);
+                    }
+
+                    Query query = em.createQuery(chunkedJpql)
+                                    .setParameter("chunkStartExclusive", idValue(chunkStartExclusive, idType))
+                                    .setParameter("chunkEnd", idValue(chunkEnd, idType));
+                    parameters.forEach(query::setParameter);
+                    int rows = query.executeUpdate();
+
+                    current.lease(owner, LocalDateTime.now().plus(lease));
+                    current.chunkCompleted(chunkEnd, rows);
+                    return current;
+                });
+                record(checkpoint, chunkSize, checkpoint.getProcessedRows() - processedAtStart, startNanos);
+
+                if (!checkpoint.isCompleted()) {
+                    sleep(throttle);
+                }
+            }
+        } catch (RuntimeException e) {
+            BulkJobCheckpoint failed = markFailed(jobName, owner);
+            if (failed != null) {
+                record(failed, chunkSize, failed.getProcessedRows() - processedAtStart, startNanos);
+            }
+            log.warn("bulk job failed, job={}, lastCommittedId={}", jobName, checkpoint.getLastId(), e);
+            throw e;
+        }
+
+        log.info("bulk job completed, job={}, rows={}, chunks={}", jobName,
+                 checkpoint.getProcessedRows(), checkpoint.getCompletedChunks());
+        return progress.get(jobName);
+    }
+
+    public List<BulkJobProgress> progress() {
+        return new ArrayList<>(progress.values());
+    }
+
+    // 완료되지 않은 체크포인트가 있으면 이어서, 완료된 체크포인트는 그대로 돌려주고, 없으면 새로 시작
+    // 체크포인트 row 를 비관적 락으로 잡고 확인하므로 동시에 시작한 runner 중 하나만 lease 를 얻는다.
+    private BulkJobCheckpoint startOrResume(String jobName, String jpql, String parameters,
+                                            String entity, String alias, String owner) {
+        return chunkTransaction.execute(status -> {
+            LocalDateTime now = LocalDateTime.now();
+            BulkJobCheckpoint checkpoint = em.find(BulkJobCheckpoint.class, jobName, LockModeType.PESSIMISTIC_WRITE);
+            if (checkpoint != null) {
+                if (!checkpoint.getJpql().equals(jpql)) {
+                    throw new IllegalStateException("같은 이름의 작업과 JPQL이 다릅니다: " + jobName);
+                }
+                if (!parameters.equals(checkpoint.getParameters())) {
+                    throw new IllegalStateException("같은 이름의 작업과 파라미터가 다릅니다: " + jobName
+                            + ", expected=" + checkpoint.getParameters() + ", actual=" + parameters);
+                }
+                if (checkpoint.isCompleted()) {
+                    log.info("bulk job already completed, job={}, rows={}", jobName, checkpoint.getProcessedRows());
+                    return checkpoint;
+                }
+                if (checkpoint.isLeasedByOther(owner, now)) {
+                    throw new IllegalStateException("이미 실행 중인 작업입니다: " + jobName
+                            + ", leaseUntil=" + checkpoint.getLeaseUntil());
+                }
+                checkpoint.resume();
+                checkpoint.lease(owner, now.plus(lease));
+                log.info("bulk job resumed, job={}, lastId={}, maxId={}", jobName, checkpoint.getLastId(), checkpoint.getMaxId());
+                return checkpoint;
+            }
+
+            Object[] range = (Object[]) em.createQuery(
+                    "select min(" + alias + ".id), max(" + alias + ".id) from " + entity + " " + alias)
+                    .getSingleResult();
+            long minId = range[0] == null ? 1 : ((Number) range[0]).longValue();
+            long maxId = range[1] == null ? 0 : ((Number) range[1]).longValue();
+
+            BulkJobCheckpoint started = new BulkJobCheckpoint(jobName, jpql, parameters, minId, maxId);
+            started.lease(owner, now.plus(lease));
+            if (maxId < minId) {
+                started.chunkCompleted(maxId, 0);   // 대상 테이블이 비어있음
+            }
+            em.persist(started);
+            return started;
+        });
+    }
+
+    // 이 runner 가 lease 를 잡고 있는 경우에만 실패로 표시 (다른 runner 가 가져간 작업은 건드리지 않는다)
+    private BulkJobCheckpoint markFailed(String jobName, String owner) {
+        try {
+            return chunkTransaction.execute(status -> {
+                BulkJobCheckpoint checkpoint = em.find(BulkJobCheckpoint.class, jobName);
+                if (checkpoint != null && checkpoint.isOwnedBy(owner)) {
+                    checkpoint.fail();
+                }
+                return checkpoint;
+            });
+        } catch (RuntimeException e) {
+            log.warn("failed to mark bulk job as failed, job={}", jobName, e);
+            return null;
+        }
+    }
+
+    private Class<?> idType(Class<?> entityType) {
+        Class<?> idType = em.getMetamodel().entity(entityType).getIdType().getJavaType();
+        if (idType == Long.class || idType == long.class || idType == Integer.class || idType == int.class
+                || idType == Short.class || idType == short.class) {
+            return idType;
+        }
+        throw new IllegalArgumentException("id 범위로 나눌 수 없는 엔티티입니다: " + entityType.getSimpleName()
+                + ", idType=" + idType.getSimpleName());
+    }
+
+    // 청크 경계 값을 id 타입에 맞춰 바인딩 (Integer id 에 Long 을 바인딩하면 타입 불일치)
+    private static Object idValue(long id, Class<?> idType) {
+        if (idType == Integer.class || idType == int.class) {
+            return (int) Math.min(id, Integer.MAX_VALUE);
+        }
+        if (idType == Short.class || idType == short.class) {
+            return (short) Math.min(id, Short.MAX_VALUE);
+        }
+        return id;
+    }
+
+    private String entityName(Class<?> entityType) {
+        return em.getMetamodel().entity(entityType).getName();
+    }
+
+    private static int validateChunkSize(int chunkSize) {
+        if (chunkSize < 1) {
+            throw new IllegalArgumentException("chunkSize는 1 이상이어야 합니다: " + chunkSize);
+        }
+        return chunkSize;
+    }
+
+    private static void validateAlias(String alias) {
+        if (alias == null || !ALIAS.matcher(alias).matches()) {
+            throw new IllegalArgumentException("잘못된 별칭입니다: " + alias);
+        }
+    }
+
+    private void record(BulkJobCheckpoint checkpoint, int chunkSize, long rowsThisRun, long startNanos) {
+        progress.put(checkpoint.getJobName(),
+                     new BulkJobProgress(checkpoint, chunkSize, rowsThisRun, System.nanoTime() - startNanos));
+    }
+
+    private static void sleep(Duration duration) {
+        if (duration.isZero() || duration.isNegative()) {
+            return;
+        }
+        try {
+            Thread.sleep(duration.toMillis());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("bulk job interrupted", e);
+        }
+    }
+}
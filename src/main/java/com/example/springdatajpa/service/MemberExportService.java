@@ -0,0 +1,63 @@
+package com.example.springdatajpa.service;
+
+import com.example.springdatajpa.dto.MemberDto;
+import com.example.springdatajpa.entity.Member;
+import com.example.springdatajpa.repository.MemberRepository;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.persistence.EntityManager;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+// 회원 전체를 NDJSON(한 줄에 JSON 하나)으로 내보낸다.
+// 스트림으로 한 건씩 읽어 바로 쓰고, N건마다 영속성 컨텍스트를 비우므로 전체 건수와 상관없이 힙 사용량이 일정하다.
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class MemberExportService {
+    private final MemberRepository memberRepository;
+    private final EntityManager em;
+    private final ObjectMapper objectMapper;
+
+    @Value("${app.member-export.fetch-size:1000}")
+    private int fetchSize;
+
+    @Value("${app.member-export.clear-interval:1000}")
+    private int clearInterval;
+
+    @Transactional(readOnly = true)
+    public long exportNdjson(OutputStream out) throws IOException {
+        ObjectWriter writer = objectMapper.writerFor(MemberDto.class)
+                                          .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE)
+                                          .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        long count = 0;
+        try (Stream<Member> members = memberRepository.streamAllMembers(fetchSize)) {
+            Iterator<Member> iterator = members.iterator();
+            while (iterator.hasNext()) {
+                Member member = iterator.next();
+                String teamName = member.getTeam() == null ? null : member.getTeam().getName();
+                writer.writeValue(out, new MemberDto(member.getId(), member.getUsername(), teamName));
+                out.write('\n');
+
+                if (++count % clearInterval == 0) {
+                    em.clear();  // 이미 내보낸 엔티티를 준영속으로 만들어 GC 대상이 되게 한다.
+                    out.flush();
+                }
+            }
+        }
+        out.flush();
+
+        log.info("member export finished, count={}", count);
+        return count;
+    }
+}
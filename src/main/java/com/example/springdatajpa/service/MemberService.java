@@ -0,0 +1,33 @@
+package com.example.springdatajpa.service;
+
+import com.example.springdatajpa.entity.Member;
+import com.example.springdatajpa.repository.MemberRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.persistence.EntityNotFoundException;
+
+@Service
+@RequiredArgsConstructor
+public class MemberService {
+    private final MemberRepository memberRepository;
+
+    // 낙관적 락 : 충돌하면 새 트랜잭션으로 다시 조회해서 재시도
+    @OptimisticRetry
+    @Transactional
+    public int addAge(Long memberId, int delta) {
+        Member member = memberRepository.findById(memberId)
+                                        .orElseThrow(() -> new EntityNotFoundException("member not found: " + memberId));
+        member.setAge(member.getAge() + delta);
+        return member.getAge();
+    }
+
+    // 비관적 락 : select ... for update 로 조회 후 수정 (락 대기 제한 3초)
+    @Transactional
+    public int addAgeWithLock(String username, int delta) {
+        Member member = memberRepository.findMemberLockByUsername(username);
+        member.setAge(member.getAge() + delta);
+        return member.getAge();
+    }
+}
@@ -0,0 +1,23 @@
+package com.example.springdatajpa.service;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+// 낙관적 락 충돌(OptimisticLockException) 시 메서드 전체를 다시 실행한다. (OptimisticRetryAspect)
+// 재시도마다 새 트랜잭션이어야 하므로 @Transactional 과 함께 쓰고, 이미 트랜잭션 안에서 호출되면 재시도하지 않는다.
+// 대기 시간 : backoffMillis * multiplier^(재시도 - 1), 최대 maxBackoffMillis, +-jitter 비율만큼 무작위
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface OptimisticRetry {
+    int maxAttempts() default 3;       // 최초 실행 포함
+
+    long backoffMillis() default 20;
+
+    double multiplier() default 2.0;
+
+    long maxBackoffMillis() default 500;
+
+    double jitter() default 0.5;       // 0 ~ 1
+}
@@ -0,0 +1,84 @@
+package com.example.springdatajpa.service;
+
+import com.example.springdatajpa.monitoring.OptimisticLockMetrics;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.persistence.OptimisticLockException;
+import java.util.concurrent.ThreadLocalRandom;
+
+// @OptimisticRetry 처리
+// 트랜잭션 어드바이스(@Transactional, LOWEST_PRECEDENCE)보다 바깥에서 실행되어야 커밋 시점의 충돌까지 재시도할 수 있다.
+@Slf4j
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 100)
+@RequiredArgsConstructor
+public class OptimisticRetryAspect {
+    private final OptimisticLockMetrics optimisticLockMetrics;
+
+    @Around("@annotation(retry)")
+    public Object retry(ProceedingJoinPoint joinPoint, OptimisticRetry retry) throws Throwable {
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            // 바깥 트랜잭션의 영속성 컨텍스트가 이미 오래된 상태이므로 재시도해도 소용없다.
+            return joinPoint.proceed();
+        }
+
+        for (int attempt = 1; ; attempt++) {
+            try {
+                Object result = joinPoint.proceed();
+                if (attempt > 1) {
+                    optimisticLockMetrics.recovered();
+                }
+                return result;
+            } catch (RuntimeException e) {
+                String entity = conflictingEntity(e);
+                if (entity == null) {
+                    throw e;
+                }
+                optimisticLockMetrics.conflict(entity);
+                if (attempt >= retry.maxAttempts()) {
+                    optimisticLockMetrics.exhausted(entity);
+                    log.warn("optimistic lock retries exhausted, method={}, entity={}, attempts={}",
+                             joinPoint.getSignature().toShortString(), entity, attempt);
+                    throw e;
+                }
+                optimisticLockMetrics.retry(entity);
+                Thread.sleep(backoff(retry, attempt));
+            }
+        }
+    }
+
+    private static long backoff(OptimisticRetry retry, int attempt) {
+        double delay = Math.min(retry.backoffMillis() * Math.pow(retry.multiplier(), attempt - 1), retry.maxBackoffMillis());
+        double jitter = retry.jitter() <= 0 ? 0 : ThreadLocalRandom.current().nextDouble(-retry.jitter(), retry.jitter());
+        return Math.max(0, Math.round(delay * (1 + jitter)));
+    }
+
+    // 낙관적 락 충돌이면 엔티티 이름, 아니면 null
+    private static String conflictingEntity(Throwable e) {
+        for (Throwable t = e; t != null; t = t.getCause()) {
+            if (t instanceof ObjectOptimisticLockingFailureException) {
+                String className = ((ObjectOptimisticLockingFailureException) t).getPersistentClassName();
+                return className == null ? "unknown" : className.substring(className.lastIndexOf('.') + 1);
+            }
+            if (t instanceof OptimisticLockException) {
+                Object entity = ((OptimisticLockException) t).getEntity();
+                return entity == null ? "unknown" : entity.getClass().getSimpleName();
+            }
+            if (t instanceof OptimisticLockingFailureException) {
+                return "unknown";
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,144 @@
+package com.example.springdatajpa.controller;
+
+import com.example.springdatajpa.SpringDataJpaApplication;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// 동시 클라이언트 500개로 /api/async/members/age/{age} 를 호출하면서
+// 같은 서버의 /hello 응답시간을 함께 측정한다. (톰캣 요청 스레드가 DB 대기에 묶이는지 확인)
+// caller : executor 없이 요청 스레드에서 조회, pool : repositoryExecutor 스레드풀, virtual : JDK 21+
+// ./gradlew benchmarkTest -Dbenchmark.clients=500 -Dbenchmark.seconds=20
+@Tag("benchmark")
+class MemberAsyncLoadBenchmarkTest {
+    private static final int CLIENTS = Integer.getInteger("benchmark.clients", 500);
+    private static final int SECONDS = Integer.getInteger("benchmark.seconds", 20);
+    private static final int ROWS = 10_000;
+
+    @ParameterizedTest
+    @ValueSource(strings = {"caller", "pool", "virtual"})
+    @DisplayName("repositoryExecutor 사용 여부에 따른 처리량")
+    void 비동기_조회_부하_테스트(String mode) throws Exception {
+        try (ConfigurableApplicationContext context = start(mode)) {
+            context.getBean(JdbcTemplate.class).update("insert into member (member_id, username, age, version) " +
+                    "select x, 'member' || x, mod(x, 100), 0 from system_range(1, ?)", ROWS);
+            int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+
+            HttpClient client = HttpClient.newBuilder()
+                    .version(HttpClient.Version.HTTP_1_1)
+                    .connectTimeout(Duration.ofSeconds(10))
+                    .build();
+            URI query = URI.create("http://localhost:" + port + "/api/async/members/age/30?size=30&sort=username");
+            URI hello = URI.create("http://localhost:" + port + "/hello");
+
+            AtomicLong completed = new AtomicLong();
+            AtomicLong failed = new AtomicLong();
+            List<Long> queryLatencies = Collections.synchronizedList(new ArrayList<>());
+            List<Long> helloLatencies = Collections.synchronizedList(new ArrayList<>());
+
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(SECONDS);
+            ExecutorService clients = Executors.newFixedThreadPool(CLIENTS + 1);
+            for (int i = 0; i < CLIENTS; i++) {
+                clients.execute(() -> {
+                    while (System.nanoTime() < deadline) {
+                        long elapsed = call(client, query);
+                        if (elapsed < 0) {
+                            failed.incrementAndGet();
+                        } else {
+                            completed.incrementAndGet();
+                            queryLatencies.add(elapsed);
+                        }
+                    }
+                });
+            }
+            // DB를 쓰지 않는 요청이 부하 중에도 바로 처리되는지
+            clients.execute(() -> {
+                while (System.nanoTime() < deadline) {
+                    long elapsed = call(client, hello);
+                    if (elapsed >= 0) {
+                        helloLatencies.add(elapsed);
+                    }
+                    sleep(100);
+                }
+            });
+            clients.shutdown();
+            assertThat(clients.awaitTermination(SECONDS + 60L, TimeUnit.SECONDS)).isTrue();
+
+            System.out.println("mode = " + mode + ", clients = " + CLIENTS + ", seconds = " + SECONDS);
+            System.out.println("throughput    = " + completed.get() / SECONDS + " req/s (failed " + failed.get() + ")");
+            System.out.println("query p50/p99 = " + percentile(queryLatencies, 50) + " / " + percentile(queryLatencies, 99) + " ms");
+            System.out.println("hello p50/p99 = " + percentile(helloLatencies, 50) + " / " + percentile(helloLatencies, 99) + " ms");
+
+            assertThat(completed.get()).isPositive();
+            assertThat(failed.get()).isZero();
+        }
+    }
+
+    private ConfigurableApplicationContext start(String mode) {
+        return new SpringApplicationBuilder(SpringDataJpaApplication.class)
+                .web(WebApplicationType.SERVLET)
+                .properties(Map.of(
+                        "server.port", 0,
+                        "spring.datasource.url", "jdbc:h2:mem:asyncLoad-" + mode + ";DB_CLOSE_DELAY=-1",
+                        "app.async.repository-executor.mode", mode,
+                        "app.query-count.request-budget", 0,
+                        "logging.level.org.hibernate.SQL", "warn",
+                        "logging.level.com.example.springdatajpa", "warn",
+                        "decorator.datasource.p6spy.enable-logging", false))
+                .run();
+    }
+
+    // 응답시간(ms), 실패하면 -1
+    private static long call(HttpClient client, URI uri) {
+        long start = System.nanoTime();
+        try {
+            HttpResponse<Void> response = client.send(HttpRequest.newBuilder(uri).timeout(Duration.ofSeconds(60)).build(),
+                                                      HttpResponse.BodyHandlers.discarding());
+            return response.statusCode() == 200 ? TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) : -1;
+        } catch (Exception e) {
+            return -1;
+        }
+    }
+
+    private static long percentile(List<Long> values, int percentile) {
+        List<Long> sorted;
+        synchronized (values) {
+            sorted = new ArrayList<>(values);
+        }
+        if (sorted.isEmpty()) {
+            return 0;
+        }
+        Collections.sort(sorted);
+        return sorted.get(Math.min(sorted.size() - 1, sorted.size() * percentile / 100));
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
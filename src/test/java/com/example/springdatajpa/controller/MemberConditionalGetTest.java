@@ -0,0 +1,117 @@
+package com.example.springdatajpa.controller;
+
+import com.example.springdatajpa.entity.Member;
+import com.example.springdatajpa.repository.MemberRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class MemberConditionalGetTest {
+    @Autowired
+    MockMvc mockMvc;
+
+    @Autowired
+    MemberRepository memberRepository;
+
+    @AfterEach
+    void tearDown() {
+        memberRepository.deleteAllInBatch();
+    }
+
+    @Test
+    @DisplayName("회원 조회 : If-None-Match 가 같으면 304, 수정되면 새 ETag 로 200")
+    void 회원_조건부_GET_테스트() throws Exception {
+        // given
+        Member member = memberRepository.save(new Member("etag1", 10));
+        String uri = "/api/v2/members/" + member.getId();
+        MockHttpServletResponse first = mockMvc.perform(get(uri)).andReturn().getResponse();
+        String etag = first.getHeader(HttpHeaders.ETAG);
+
+        // when
+        MockHttpServletResponse notModified = mockMvc.perform(get(uri).header(HttpHeaders.IF_NONE_MATCH, etag))
+                                                     .andReturn().getResponse();
+        memberRepository.bulkAgePlusAndEvict(0);
+        MockHttpServletResponse modified = mockMvc.perform(get(uri).header(HttpHeaders.IF_NONE_MATCH, etag))
+                                                  .andReturn().getResponse();
+
+        // then
+        assertThat(first.getStatus()).isEqualTo(200);
+        assertThat(first.getContentAsString()).isEqualTo("etag1");
+        assertThat(first.getHeader(HttpHeaders.LAST_MODIFIED)).isNotNull();
+
+        assertThat(notModified.getStatus()).isEqualTo(304);
+        assertThat(notModified.getContentAsString()).isEmpty();
+
+        assertThat(modified.getStatus()).isEqualTo(200);
+        assertThat(modified.getHeader(HttpHeaders.ETAG)).isNotEqualTo(etag);
+    }
+
+    @Test
+    @DisplayName("페이지 조회 : 페이지 행과 전체 건수가 같으면 304, 회원이 추가되면 200")
+    void 페이지_조건부_GET_테스트() throws Exception {
+        // given
+        for (int i = 0; i < 5; i++) {
+            memberRepository.save(new Member("page" + i, 10 + i));
+        }
+        String uri = "/api/v2/members?page=0&size=3&sort=username";
+        String etag = mockMvc.perform(get(uri)).andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        // when
+        int notModified = mockMvc.perform(get(uri).header(HttpHeaders.IF_NONE_MATCH, etag))
+                                 .andReturn().getResponse().getStatus();
+        memberRepository.save(new Member("page5", 15));   // 페이지 밖에 추가 : totalElements 만 바뀐다.
+        MockHttpServletResponse modified = mockMvc.perform(get(uri).header(HttpHeaders.IF_NONE_MATCH, etag))
+                                                  .andReturn().getResponse();
+
+        // then : 전체 건수는 검증값에서 구한 값을 사용
+        assertThat(etag).isNotNull();
+        assertThat(notModified).isEqualTo(304);
+        assertThat(modified.getStatus()).isEqualTo(200);
+        assertThat(modified.getContentAsString()).contains("\"totalElements\":6");
+    }
+
+    @Test
+    @DisplayName("페이지 조회 : 정렬키가 같은 회원은 id 순으로 조회되어 검증값과 본문이 같은 페이지를 가리킨다")
+    void 페이지_조건부_GET_정렬키_중복_테스트() throws Exception {
+        // given : 모두 같은 나이
+        for (int i = 0; i < 5; i++) {
+            memberRepository.save(new Member("same" + i, 10));
+        }
+        String uri = "/api/members?page=1&size=2&sort=age";
+
+        // when
+        MockHttpServletResponse first = mockMvc.perform(get(uri)).andReturn().getResponse();
+        int notModified = mockMvc.perform(get(uri).header(HttpHeaders.IF_NONE_MATCH, first.getHeader(HttpHeaders.ETAG)))
+                                 .andReturn().getResponse().getStatus();
+
+        // then : 두 번째 페이지는 id 순으로 3, 4번째 회원
+        assertThat(first.getStatus()).isEqualTo(200);
+        assertThat(first.getContentAsString()).contains("\"same2\"", "\"same3\"").doesNotContain("\"same1\"", "\"same4\"");
+        assertThat(notModified).isEqualTo(304);
+    }
+
+    @Test
+    @DisplayName("페이지 조회 : 연관 경로 정렬은 400")
+    void 페이지_조건부_GET_연관경로_정렬_테스트() throws Exception {
+        // given
+        memberRepository.save(new Member("member1", 10));
+
+        // when
+        MockHttpServletResponse response = mockMvc.perform(get("/api/v2/members?sort=team.name"))
+                                                  .andReturn().getResponse();
+
+        // then
+        assertThat(response.getStatus()).isEqualTo(400);
+    }
+}
@@ -0,0 +1,137 @@
+package com.example.springdatajpa.datasource;
+
+import com.example.springdatajpa.entity.Member;
+import com.example.springdatajpa.repository.MemberRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// 로컬 H2 메모리 DB 두 개로 primary/replica 라우팅 확인
+// 스키마는 하이버네이트가 primary 에만 만들므로 테스트마다 primary 스키마를 replica 로 복제한다.
+// replica 로의 데이터 복제는 없다. (replica 에만 넣은 데이터가 조회되면 replica 에서 읽은 것)
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:primary;DB_CLOSE_DELAY=-1",
+        "app.datasource.replica.enabled=true",
+        "app.datasource.replica.jdbc-url=jdbc:h2:mem:replica;DB_CLOSE_DELAY=-1",
+        "app.datasource.read-your-writes-window=" + ReadWriteRoutingDataSourceTest.READ_YOUR_WRITES_WINDOW_MILLIS + "ms"
+})
+class ReadWriteRoutingDataSourceTest {
+    static final long READ_YOUR_WRITES_WINDOW_MILLIS = 300;
+
+    @Autowired
+    ReadWriteRoutingDataSource routingDataSource;
+
+    @Autowired
+    PlatformTransactionManager transactionManager;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    MemberRepository memberRepository;
+
+    @Autowired
+    @Qualifier("primaryDataSource")
+    DataSource primaryDataSource;
+
+    @Autowired
+    @Qualifier("replicaDataSource")
+    DataSource replicaDataSource;
+
+    JdbcTemplate primary;
+    JdbcTemplate replica;
+
+    @BeforeEach
+    void setUp() throws InterruptedException {
+        primary = new JdbcTemplate(primaryDataSource);
+        replica = new JdbcTemplate(replicaDataSource);
+
+        replica.execute("drop all objects");
+        for (String ddl : primary.queryForList("script nodata", String.class)) {
+            if (!ddl.startsWith("--") && !ddl.toUpperCase().startsWith("CREATE USER")) {
+                replica.execute(ddl);
+            }
+        }
+        // 이전 테스트의 쓰기로 read-your-writes window 안에 있지 않도록
+        Thread.sleep(READ_YOUR_WRITES_WINDOW_MILLIS + 100);
+    }
+
+    @AfterEach
+    void tearDown() {
+        // 라우팅을 거치지 않고 각각 직접 정리 (마지막 쓰기 시각이 바뀌지 않도록)
+        primary.update("delete from member");
+        replica.update("delete from member");
+    }
+
+    @Test
+    @DisplayName("readOnly 트랜잭션은 replica, 그 외는 primary 로 라우팅")
+    void 읽기쓰기_라우팅_테스트() {
+        // given
+        TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+        TransactionTemplate readWrite = new TransactionTemplate(transactionManager);
+        Map<ReadWriteRoutingDataSource.Route, Long> before = routingDataSource.checkoutCounts();
+
+        // when
+        String readOnlyDatabase = readOnly.execute(status -> currentDatabase());
+        String readWriteDatabase = readWrite.execute(status -> currentDatabase());
+
+        // then
+        Map<ReadWriteRoutingDataSource.Route, Long> after = routingDataSource.checkoutCounts();
+        assertThat(readOnlyDatabase).isEqualToIgnoringCase("replica");
+        assertThat(readWriteDatabase).isEqualToIgnoringCase("primary");
+        assertThat(after.get(ReadWriteRoutingDataSource.Route.REPLICA))
+                .isEqualTo(before.get(ReadWriteRoutingDataSource.Route.REPLICA) + 1);
+        assertThat(after.get(ReadWriteRoutingDataSource.Route.PRIMARY))
+                .isEqualTo(before.get(ReadWriteRoutingDataSource.Route.PRIMARY) + 1);
+    }
+
+    @Test
+    @DisplayName("@Transactional(readOnly = true) 리포지토리 조회는 replica 에서 엔티티를 읽는다")
+    void readOnly_리포지토리_조회_테스트() {
+        // given : replica 에만 있는 회원
+        replica.update("insert into member (member_id, username, age, version) values (1000, 'replica-only', 10, 0)");
+        TransactionTemplate readWrite = new TransactionTemplate(transactionManager);
+
+        // when
+        Member fromReplica = memberRepository.findMemberReadOnlyByUsername("replica-only");
+        Member fromPrimary = readWrite.execute(status -> memberRepository.findMemberReadOnlyByUsername("replica-only"));
+
+        // then : 쓰기 트랜잭션에 참여하면 primary 에서 조회
+        assertThat(fromReplica).isNotNull();
+        assertThat(fromReplica.getId()).isEqualTo(1000L);
+        assertThat(fromPrimary).isNull();
+    }
+
+    @Test
+    @DisplayName("쓰기 커밋 직후 read-your-writes window 동안은 readOnly 조회도 primary 로")
+    void read_your_writes_테스트() throws InterruptedException {
+        // given
+        memberRepository.save(new Member("written", 10));
+
+        // when
+        Member withinWindow = memberRepository.findMemberReadOnlyByUsername("written");
+        Thread.sleep(READ_YOUR_WRITES_WINDOW_MILLIS + 100);
+        Member afterWindow = memberRepository.findMemberReadOnlyByUsername("written");
+
+        // then : window 가 지나면 (복제되지 않은) replica 에서 조회
+        assertThat(withinWindow).isNotNull();
+        assertThat(afterWindow).isNull();
+    }
+
+    private String currentDatabase() {
+        return jdbcTemplate.queryForObject("select database()", String.class);
+    }
+}
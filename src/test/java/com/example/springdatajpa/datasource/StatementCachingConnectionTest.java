@@ -0,0 +1,141 @@
+package com.example.springdatajpa.datasource;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+// 풀 없이 H2 물리 커넥션 하나에 캐시를 직접 붙여서 확인
+class StatementCachingConnectionTest {
+    private static final String SELECT_A = "select cast(? as int) + 1";
+    private static final String SELECT_B = "select cast(? as int) + 2";
+    private static final String SELECT_C = "select cast(? as int) + 3";
+
+    StatementCacheRegistry registry;
+    Connection physical;
+    Connection connection;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        registry = new StatementCacheRegistry();
+        physical = DriverManager.getConnection("jdbc:h2:mem:statement-cache;DB_CLOSE_DELAY=-1");
+        connection = StatementCachingConnection.wrap(physical, 2, registry);
+    }
+
+    @AfterEach
+    void tearDown() throws SQLException {
+        connection.close();
+    }
+
+    @Test
+    @DisplayName("statement 캐시 : close 하면 캐시에 반납되고 같은 SQL은 같은 물리 statement 를 다시 빌려준다")
+    void 반납_재사용_테스트() throws SQLException {
+        // given
+        PreparedStatement first = connection.prepareStatement(SELECT_A);
+        PreparedStatement physicalFirst = first.unwrap(PreparedStatement.class);
+        assertThat(query(first, 1)).isEqualTo(2);
+        first.close();
+
+        // when
+        PreparedStatement second = connection.prepareStatement(SELECT_A);
+
+        // then
+        assertThat(first.isClosed()).isTrue();
+        assertThat(physicalFirst.isClosed()).isFalse();
+        assertThat(second.unwrap(PreparedStatement.class)).isSameAs(physicalFirst);
+        assertThat(query(second, 10)).isEqualTo(11);
+        assertThat(stats(SELECT_A).getHits()).isEqualTo(1);
+        assertThat(stats(SELECT_A).getMisses()).isEqualTo(1);
+        second.close();
+    }
+
+    @Test
+    @DisplayName("statement 캐시 : 최대 개수를 넘으면 가장 오래 사용하지 않은 statement 를 실제로 닫는다")
+    void LRU_제거_테스트() throws SQLException {
+        // given : 최대 2개
+        PreparedStatement physicalA = borrowAndReturn(SELECT_A);
+        PreparedStatement physicalB = borrowAndReturn(SELECT_B);
+        borrowAndReturn(SELECT_A);   // A 를 최근 사용으로
+
+        // when
+        PreparedStatement physicalC = borrowAndReturn(SELECT_C);
+
+        // then : B 가 제거된다.
+        assertThat(physicalB.isClosed()).isTrue();
+        assertThat(physicalA.isClosed()).isFalse();
+        assertThat(physicalC.isClosed()).isFalse();
+        assertThat(stats(SELECT_B).getEvictions()).isEqualTo(1);
+        assertThat(stats(SELECT_A).getEvictions()).isZero();
+    }
+
+    @Test
+    @DisplayName("statement 캐시 : 반납할 때 파라미터와 fetchSize, maxRows, queryTimeout 을 처음 값으로 되돌린다")
+    void 상태_초기화_테스트() throws SQLException {
+        // given
+        PreparedStatement first = connection.prepareStatement(SELECT_A);
+        int defaultFetchSize = first.getFetchSize();
+        first.setInt(1, 1);
+        first.setFetchSize(defaultFetchSize + 500);
+        first.setMaxRows(10);
+        first.setQueryTimeout(30);
+        first.close();
+
+        // when
+        PreparedStatement second = connection.prepareStatement(SELECT_A);
+
+        // then
+        assertThat(second.getFetchSize()).isEqualTo(defaultFetchSize);
+        assertThat(second.getMaxRows()).isZero();
+        assertThat(second.getQueryTimeout()).isZero();
+        // 파라미터가 지워져서 다시 바인딩하지 않으면 실행할 수 없다.
+        assertThatThrownBy(second::executeQuery).isInstanceOf(SQLException.class);
+        second.close();
+    }
+
+    @Test
+    @DisplayName("statement 캐시 : 커넥션을 닫으면 캐시에 있는 statement 를 실제로 닫는다")
+    void 커넥션_종료_테스트() throws SQLException {
+        // given
+        PreparedStatement physicalA = borrowAndReturn(SELECT_A);
+        PreparedStatement physicalB = borrowAndReturn(SELECT_B);
+
+        // when
+        connection.close();
+
+        // then
+        assertThat(physicalA.isClosed()).isTrue();
+        assertThat(physicalB.isClosed()).isTrue();
+        assertThat(physical.isClosed()).isTrue();
+    }
+
+    private PreparedStatement borrowAndReturn(String sql) throws SQLException {
+        PreparedStatement statement = connection.prepareStatement(sql);
+        PreparedStatement target = statement.unwrap(PreparedStatement.class);
+        statement.close();
+        return target;
+    }
+
+    private static int query(PreparedStatement statement, int value) throws SQLException {
+        statement.setInt(1, value);
+        try (ResultSet resultSet = statement.executeQuery()) {
+            resultSet.next();
+            return resultSet.getInt(1);
+        }
+    }
+
+    private StatementCacheRegistry.ShapeSnapshot stats(String sql) {
+        return registry.snapshot().stream()
+                       .filter(snapshot -> snapshot.getSql().equals(sql))
+                       .findFirst()
+                       .orElseThrow();
+    }
+}
@@ -1,5 +1,6 @@
 package com.example.springdatajpa.entity;
 
+import com.example.springdatajpa.config.FlushScopedDateTimeProvider;
 import com.example.springdatajpa.repository.MemberRepository;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -9,9 +10,13 @@ import org.springframework.test.annotation.Rollback;
 import org.springframework.transaction.annotation.Transactional;
 
 import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
 import javax.persistence.PersistenceContext;
+import java.time.LocalDateTime;
 import java.util.List;
 
+import static org.assertj.core.api.Assertions.assertThat;
+
 @SpringBootTest
 class MemberTest {
     @PersistenceContext
@@ -20,6 +25,12 @@ class MemberTest {
     @Autowired
     MemberRepository memberRepository;
 
+    @Autowired
+    EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    FlushScopedDateTimeProvider flushScopedDateTimeProvider;
+
     @Test
     @DisplayName("Member 엔티티, Team 엔티티 테스트")
     @Transactional
@@ -100,4 +111,43 @@ class MemberTest {
         System.out.println("findMember.getCreatedBy() = " + findMember.getCreatedBy());
         System.out.println("findMember.getLastModifiedBy() = " + findMember.getLastModifiedBy());
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("감사 컬럼 : 같은 flush 에서 저장된 엔티티는 같은 시각, 작성자는 UUID")
+    @Transactional
+    void 감사컬럼_flush단위_시각_테스트() {
+        // given
+        Member member1 = memberRepository.save(new Member("member1"));
+        Member member2 = memberRepository.save(new Member("member2"));
+
+        // when
+        em.flush();
+        em.clear();
+        Member findMember1 = memberRepository.findById(member1.getId()).get();
+        Member findMember2 = memberRepository.findById(member2.getId()).get();
+
+        // then
+        assertThat(findMember1.getCreatedDate()).isEqualTo(findMember2.getCreatedDate());
+        assertThat(findMember1.getCreatedBy()).isNotNull();
+        assertThat(findMember1.getCreatedBy().version()).isEqualTo(4);
+    }
+
+    @Test
+    @DisplayName("감사 컬럼 : 세션이 끝나면 시각을 재사용하지 않고, 열린 세션이 없으면 현재 시각")
+    void 감사컬럼_세션밖_시각_테스트() throws InterruptedException {
+        // given : 세션 안에서 구한 시각 (flush 없이 세션 종료)
+        EntityManager session = entityManagerFactory.createEntityManager();
+        LocalDateTime inSession = (LocalDateTime) flushScopedDateTimeProvider.getNow().get();
+        session.close();
+
+        // when
+        Thread.sleep(10);
+        LocalDateTime outside1 = (LocalDateTime) flushScopedDateTimeProvider.getNow().get();
+        Thread.sleep(10);
+        LocalDateTime outside2 = (LocalDateTime) flushScopedDateTimeProvider.getNow().get();
+
+        // then
+        assertThat(outside1).isAfter(inSession);
+        assertThat(outside2).isAfter(outside1);
+    }
+}
@@ -0,0 +1,44 @@
+package com.example.springdatajpa.monitoring;
+
+import com.example.springdatajpa.repository.MemberRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+class ConnectionPoolMetricsTest {
+    @Autowired
+    ConnectionPoolMetrics connectionPoolMetrics;
+
+    @Autowired
+    MemberRepository memberRepository;
+
+    @Test
+    @DisplayName("커넥션 점유 시간을 경로 | 리포지토리 메서드 별로 기록")
+    void 커넥션_점유자_기록_테스트() {
+        // given
+        ConnectionHolderContext.setRoute("GET /test/pools");
+
+        // when
+        try {
+            memberRepository.findAll();
+            memberRepository.count();
+        } finally {
+            ConnectionHolderContext.clearRoute();
+        }
+
+        // then
+        ConnectionPoolMetrics.PoolSnapshot pool = connectionPoolMetrics.snapshot(100).stream()
+                .filter(snapshot -> snapshot.getPoolName().equals("dataSource"))
+                .findFirst()
+                .orElseThrow();
+        assertThat(pool.getAcquire().getCount()).isGreaterThanOrEqualTo(2);
+        assertThat(pool.getUsage().getCount()).isGreaterThanOrEqualTo(2);
+        assertThat(pool.getTopHolders())
+                .extracting(ConnectionPoolMetrics.HolderSnapshot::getHolder)
+                .contains("GET /test/pools | MemberRepository.findAll", "GET /test/pools | MemberRepository.count");
+    }
+}
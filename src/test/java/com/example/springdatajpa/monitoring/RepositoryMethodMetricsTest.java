@@ -0,0 +1,67 @@
+package com.example.springdatajpa.monitoring;
+
+import com.example.springdatajpa.entity.Member;
+import com.example.springdatajpa.repository.MemberRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.List;
+import java.util.function.ToLongFunction;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest
+class RepositoryMethodMetricsTest {
+    @Autowired
+    RepositoryMethodMetrics repositoryMethodMetrics;
+
+    @Autowired
+    MemberRepository memberRepository;
+
+    @AfterEach
+    void tearDown() {
+        memberRepository.deleteAllInBatch();
+    }
+
+    @Test
+    @DisplayName("리포지토리 메서드별 호출/row/예외 수 기록")
+    void 리포지토리_메서드_지표_테스트() {
+        // given
+        memberRepository.saveAll(List.of(new Member("metrics", 10), new Member("metrics", 20)));
+        // 지표는 테스트 컨텍스트 전체에서 누적되므로 호출 전 값과의 차이로 확인한다.
+        long callsBefore = counter("MemberRepository.findByUsername(String)", RepositoryMethodMetrics.MethodSnapshot::getCalls);
+        long rowsBefore = counter("MemberRepository.findByUsername(String)", RepositoryMethodMetrics.MethodSnapshot::getRows);
+        long errorsBefore = counter("MemberRepository.findById(Object)", RepositoryMethodMetrics.MethodSnapshot::getErrors);
+
+        // when
+        memberRepository.findByUsername("metrics");
+        memberRepository.findByUsername("metrics");
+        assertThatThrownBy(() -> memberRepository.findById(null)).isInstanceOf(RuntimeException.class);
+
+        // then
+        RepositoryMethodMetrics.MethodSnapshot findByUsername = snapshotOf("MemberRepository.findByUsername(String)");
+        assertThat(findByUsername.getCalls() - callsBefore).isEqualTo(2);
+        assertThat(findByUsername.getRows() - rowsBefore).isEqualTo(4);   // 2건 x 2번
+        assertThat(findByUsername.getMaxRows()).isGreaterThanOrEqualTo(2);
+        assertThat(findByUsername.getLatency().getP99Micros()).isPositive();
+        assertThat(snapshotOf("MemberRepository.findById(Object)").getErrors() - errorsBefore).isEqualTo(1);
+    }
+
+    private long counter(String method, ToLongFunction<RepositoryMethodMetrics.MethodSnapshot> counter) {
+        return repositoryMethodMetrics.snapshot("calls", Integer.MAX_VALUE).stream()
+                                      .filter(s -> s.getMethod().equals(method))
+                                      .mapToLong(counter)
+                                      .sum();
+    }
+
+    private RepositoryMethodMetrics.MethodSnapshot snapshotOf(String method) {
+        return repositoryMethodMetrics.snapshot("calls", Integer.MAX_VALUE).stream()
+                                      .filter(s -> s.getMethod().equals(method))
+                                      .findFirst()
+                                      .orElseThrow();
+    }
+}
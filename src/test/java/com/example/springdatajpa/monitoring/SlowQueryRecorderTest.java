@@ -0,0 +1,79 @@
+package com.example.springdatajpa.monitoring;
+
+import com.example.springdatajpa.entity.Member;
+import com.example.springdatajpa.repository.MemberRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// threshold 0ms : 모든 statement 를 느린 SQL 로 기록
+@SpringBootTest(properties = "app.slow-query.threshold=0ms")
+class SlowQueryRecorderTest {
+    @Autowired
+    SlowQueryRecorder slowQueryRecorder;
+
+    @Autowired
+    MemberRepository memberRepository;
+
+    @AfterEach
+    void tearDown() {
+        memberRepository.deleteAllInBatch();
+        slowQueryRecorder.clear();
+    }
+
+    @Test
+    @DisplayName("느린 SQL 을 바인딩 값, 리포지토리 메서드와 함께 기록하고 모양별로 EXPLAIN")
+    void 느린_SQL_기록_테스트() throws InterruptedException {
+        // given
+        memberRepository.save(new Member("slow1", 10));
+        slowQueryRecorder.clear();
+
+        // when
+        memberRepository.findByUsername("slow1");
+        memberRepository.findByUsername("slow2");
+
+        // then
+        assertThat(slowQueryRecorder.recent(10))
+                .anySatisfy(query -> {
+                    assertThat(query.getSql()).contains("'slow2'");
+                    assertThat(query.getRepositoryMethod()).isEqualTo("MemberRepository.findByUsername");
+                });
+
+        SlowQueryRecorder.ShapeSnapshot shape = findByUsernameShape().orElseThrow();
+        assertThat(shape.getCount()).isEqualTo(2);
+
+        // EXPLAIN 은 별도 스레드에서 실행된다.
+        for (int i = 0; i < 50 && findByUsernameShape().orElseThrow().getPlan() == null; i++) {
+            Thread.sleep(100);
+        }
+        assertThat(findByUsernameShape().orElseThrow().getPlan()).containsIgnoringCase("select");
+    }
+
+    @Test
+    @DisplayName("EXPLAIN 은 값을 문자열로 넣은 SQL 이 아니라 원래 SQL 에 값을 다시 바인딩해서 실행")
+    void 느린_SQL_EXPLAIN_바인딩_테스트() throws InterruptedException {
+        // when : 따옴표가 들어간 값
+        memberRepository.findByUsername("o'brien");
+
+        // then
+        for (int i = 0; i < 50 && findByUsernameShape().orElseThrow().getPlan() == null; i++) {
+            Thread.sleep(100);
+        }
+        assertThat(findByUsernameShape().orElseThrow().getPlan())
+                .doesNotStartWith("EXPLAIN failed")
+                .containsIgnoringCase("select");
+    }
+
+    private Optional<SlowQueryRecorder.ShapeSnapshot> findByUsernameShape() {
+        return slowQueryRecorder.topShapes(100).stream()
+                                .filter(shape -> "MemberRepository.findByUsername".equals(shape.getRepositoryMethod()))
+                                .filter(shape -> shape.getShape().startsWith("select"))
+                                .findFirst();
+    }
+}
@@ -1,9 +1,16 @@
 package com.example.springdatajpa.repository;
 
+import com.example.springdatajpa.dto.UpsertResult;
 import com.example.springdatajpa.entity.Item;
+import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
 
 @SpringBootTest
 class ItemRepositoryTest {
@@ -15,4 +22,22 @@ class ItemRepositoryTest {
         Item item = new Item("A");
         itemRepository.save(item);
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("Item batch upsert 테스트")
+    @Transactional
+    void upsertAllTest() {
+        // given
+        UpsertResult first = itemRepository.upsertAll(List.of(new Item("U1"), new Item("U2"), new Item("U3")));
+
+        // when : 재전송된 U2, U3 + 새로운 U4
+        UpsertResult second = itemRepository.upsertAll(List.of(new Item("U2"), new Item("U3"), new Item("U4")));
+
+        // then
+        assertThat(first.getInserted()).isEqualTo(3);
+        assertThat(first.getUpdated()).isEqualTo(0);
+        assertThat(second.getInserted()).isEqualTo(1);
+        assertThat(second.getUpdated()).isEqualTo(2);
+        assertThat(itemRepository.findById("U4")).isPresent();
+    }
+}
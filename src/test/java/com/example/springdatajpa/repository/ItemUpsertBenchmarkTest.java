@@ -0,0 +1,65 @@
+package com.example.springdatajpa.repository;
+
+import com.example.springdatajpa.dto.UpsertResult;
+import com.example.springdatajpa.entity.Item;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// ./gradlew benchmarkTest -Dbenchmark.items=100000
+@Tag("benchmark")
+@SpringBootTest
+class ItemUpsertBenchmarkTest {
+    private static final int ITEMS = Integer.getInteger("benchmark.items", 100_000);
+
+    @Autowired
+    ItemRepository itemRepository;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("delete from item");
+    }
+
+    @Test
+    @DisplayName("saveAll(merge) 재전송 vs upsertAll 재전송")
+    void saveAll_vs_upsertAll_비교() {
+        // saveAll : 처음엔 persist, 재전송된 Item은 createdDate가 있으므로 merge(select + update)
+        List<Item> saved = itemRepository.saveAll(items("S"));
+        long start = System.nanoTime();
+        itemRepository.saveAll(saved);
+        long saveAllReplay = System.nanoTime() - start;
+
+        // upsertAll : 처음이든 재전송이든 batch upsert
+        itemRepository.upsertAll(items("U"));
+        start = System.nanoTime();
+        UpsertResult result = itemRepository.upsertAll(items("U"));
+        long upsertReplay = System.nanoTime() - start;
+
+        System.out.println("items = " + ITEMS);
+        System.out.println("saveAll replay   = " + saveAllReplay / 1_000_000 + " ms");
+        System.out.println("upsertAll replay = " + upsertReplay / 1_000_000 + " ms, result = " + result);
+
+        assertThat(result.getInserted()).isEqualTo(0);
+        assertThat(result.getUpdated()).isEqualTo(ITEMS);
+    }
+
+    private List<Item> items(String prefix) {
+        List<Item> items = new ArrayList<>(ITEMS);
+        for (int i = 0; i < ITEMS; i++) {
+            items.add(new Item(prefix + i));
+        }
+        return items;
+    }
+}
@@ -0,0 +1,105 @@
+package com.example.springdatajpa.repository;
+
+import com.example.springdatajpa.entity.Member;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// flush 는 별도 트랜잭션으로 커밋되므로 @Transactional(롤백) 없이 실행하고 직접 정리한다.
+// max-pending 을 작게 두어서 증감 도중에 flush 가 여러 번 일어나도록 한다.
+@SpringBootTest(properties = {
+        "app.write-behind.flush-interval-ms=3600000",
+        "app.write-behind.max-pending=100"
+})
+class MemberAgeWriteBehindBufferTest {
+    @Autowired
+    MemberAgeWriteBehindBuffer memberAgeWriteBehindBuffer;
+
+    @Autowired
+    MemberRepository memberRepository;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @AfterEach
+    void tearDown() {
+        memberAgeWriteBehindBuffer.flush();
+        jdbcTemplate.update("delete from member");
+    }
+
+    @Test
+    @DisplayName("write-behind : 동시 증감을 모아서 한 번에 반영")
+    void write_behind_동시_증감_테스트() throws Exception {
+        // given
+        Member member = memberRepository.save(new Member("member1", 10));
+
+        // when : 8 스레드 x 1000번 +1
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        for (int i = 0; i < 8; i++) {
+            executor.execute(() -> {
+                for (int j = 0; j < 1000; j++) {
+                    memberAgeWriteBehindBuffer.addAge(member.getId(), 1);
+                }
+            });
+        }
+        executor.shutdown();
+        assertThat(executor.awaitTermination(10, TimeUnit.SECONDS)).isTrue();
+        long pendingBeforeFlush = memberAgeWriteBehindBuffer.pendingDelta(member.getId());
+        int ageWithPending = memberRepository.findAgeWithPending(member.getId()).get();
+        memberAgeWriteBehindBuffer.flush();
+
+        // then
+        assertThat(ageWithPending).isEqualTo(8010);
+        assertThat(pendingBeforeFlush).isLessThanOrEqualTo(8000);   // max-pending 을 넘으면 중간에 flush 될 수 있다.
+        assertThat(memberAgeWriteBehindBuffer.pendingDelta(member.getId())).isZero();
+        assertThat(memberRepository.findById(member.getId()).get().getAge()).isEqualTo(8010);
+    }
+
+    @Test
+    @DisplayName("write-behind : 증감 도중 flush 가 일어나도 findAgeWithPending 은 중복/누락 없이 증가만 한다")
+    void write_behind_flush_중_조회_테스트() throws Exception {
+        // given
+        Member member = memberRepository.save(new Member("member1", 10));
+        AtomicBoolean writing = new AtomicBoolean(true);
+        List<Integer> observed = new ArrayList<>();
+
+        // when : 4 스레드 x 2000번 +1 (max-pending 100 이므로 도중에 flush 80번 이상) 하는 동안 계속 조회
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        for (int i = 0; i < 4; i++) {
+            executor.execute(() -> {
+                for (int j = 0; j < 2000; j++) {
+                    memberAgeWriteBehindBuffer.addAge(member.getId(), 1);
+                }
+            });
+        }
+        executor.shutdown();
+        Thread reader = new Thread(() -> {
+            while (writing.get()) {
+                observed.add(memberRepository.findAgeWithPending(member.getId()).get());
+            }
+        });
+        reader.start();
+        assertThat(executor.awaitTermination(10, TimeUnit.SECONDS)).isTrue();
+        writing.set(false);
+        reader.join();
+        int finalAge = memberRepository.findAgeWithPending(member.getId()).get();
+
+        // then
+        assertThat(observed).isNotEmpty().isSorted().allSatisfy(age -> assertThat(age).isBetween(10, 8010));
+        assertThat(finalAge).isEqualTo(8010);
+        assertThat(jdbcTemplate.queryForObject("select age from member where member_id = ?", Integer.class, member.getId()))
+                .isGreaterThan(10);   // 도중에 flush 가 일어났다.
+    }
+}
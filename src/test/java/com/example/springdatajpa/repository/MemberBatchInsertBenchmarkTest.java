@@ -0,0 +1,70 @@
+package com.example.springdatajpa.repository;
+
+import com.example.springdatajpa.entity.Member;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// ./gradlew benchmarkTest -Dbenchmark.inserts=100000
+@Tag("benchmark")
+@SpringBootTest
+class MemberBatchInsertBenchmarkTest {
+    private static final int INSERTS = Integer.getInteger("benchmark.inserts", 100_000);
+    private static final int BATCH_SIZE = 100;
+
+    @Autowired
+    MemberJpaRepository memberJpaRepository;
+
+    @Autowired
+    MemberRepository memberRepository;
+
+    @Autowired
+    TransactionTemplate transactionTemplate;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("delete from member");
+    }
+
+    @Test
+    @DisplayName("건건이 save vs saveAllBatched")
+    void save_vs_saveAllBatched_비교() {
+        // 기존 방식 : 요청마다 save 한 건 = 트랜잭션 한 번, insert 한 번
+        long start = System.nanoTime();
+        for (int i = 0; i < INSERTS; i++) {
+            Member member = new Member("member" + i, i % 100);
+            transactionTemplate.executeWithoutResult(status -> memberJpaRepository.save(member));
+        }
+        long perEntity = System.nanoTime() - start;
+        jdbcTemplate.update("delete from member");
+
+        // batch : 한 트랜잭션에서 BATCH_SIZE 건씩 JDBC batch insert
+        List<Member> members = new ArrayList<>(INSERTS);
+        for (int i = 0; i < INSERTS; i++) {
+            members.add(new Member("member" + i, i % 100));
+        }
+        start = System.nanoTime();
+        Integer saved = transactionTemplate.execute(status -> memberRepository.saveAllBatched(members, BATCH_SIZE));
+        long batched = System.nanoTime() - start;
+
+        System.out.println("inserts = " + INSERTS + ", batchSize = " + BATCH_SIZE);
+        System.out.println("per-entity save = " + perEntity / 1_000_000 + " ms");
+        System.out.println("saveAllBatched  = " + batched / 1_000_000 + " ms");
+
+        assertThat(saved).isEqualTo(INSERTS);
+        assertThat(jdbcTemplate.queryForObject("select count(*) from member", Long.class)).isEqualTo(INSERTS);
+    }
+}
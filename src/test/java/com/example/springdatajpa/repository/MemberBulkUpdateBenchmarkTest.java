@@ -0,0 +1,85 @@
+package com.example.springdatajpa.repository;
+
+import com.example.springdatajpa.entity.Member;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.persistence.EntityManager;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// ./gradlew benchmarkTest -Dbenchmark.entities=10000
+@Tag("benchmark")
+@SpringBootTest
+class MemberBulkUpdateBenchmarkTest {
+    private static final int ENTITIES = Integer.getInteger("benchmark.entities", 10_000);
+
+    @Autowired
+    MemberRepository memberRepository;
+
+    @Autowired
+    TransactionTemplate transactionTemplate;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    EntityManager em;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.update("insert into member (member_id, username, age, version) " +
+                "select x, 'member' || x, mod(x, 100), 0 from system_range(1, ?)", ENTITIES);
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("delete from member");
+    }
+
+    @Test
+    @DisplayName("clearAutomatically 벌크 수정 vs 대상만 제거하는 벌크 수정")
+    void 벌크수정_영속성컨텍스트_비교() {
+        // 나이 90 이상(10%)만 수정, 나머지 90%는 벌크 수정 후 다시 사용
+        long clearAll = measure(em -> memberRepository.bulkAgePlus(90));
+        long targeted = measure(em -> memberRepository.bulkAgePlusAndEvict(90));
+
+        System.out.println("entities = " + ENTITIES);
+        System.out.println("clearAutomatically      = " + clearAll / 1_000_000 + " ms");
+        System.out.println("bulkAgePlusAndEvict     = " + targeted / 1_000_000 + " ms");
+    }
+
+    // 전체 로딩 -> 벌크 수정 -> 수정되지 않은 회원을 다시 조회해서 사용하는 한 트랜잭션의 시간(ns)
+    private long measure(Consumer<EntityManager> bulkUpdate) {
+        return transactionTemplate.execute(status -> {
+            long start = System.nanoTime();
+            List<Member> members = memberRepository.findAllMembersCustom();
+            List<Long> survivorIds = members.stream()
+                                            .filter(member -> member.getAge() < 90)
+                                            .map(Member::getId)
+                                            .collect(Collectors.toList());
+
+            bulkUpdate.accept(em);
+
+            long touched = 0;
+            for (Long id : survivorIds) {
+                touched += em.find(Member.class, id).getAge() >= 0 ? 1 : 0;
+            }
+            long elapsed = System.nanoTime() - start;
+
+            assertThat(touched).isEqualTo(survivorIds.size());
+            status.setRollbackOnly();
+            return elapsed;
+        });
+    }
+}
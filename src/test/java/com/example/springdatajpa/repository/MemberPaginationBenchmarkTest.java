@@ -0,0 +1,92 @@
+package com.example.springdatajpa.repository;
+
+import com.example.springdatajpa.entity.Member;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.Arrays;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// ./gradlew benchmarkTest -Dbenchmark.rows=3000000
+@Tag("benchmark")
+@SpringBootTest
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class MemberPaginationBenchmarkTest {
+    private static final int ROWS = Integer.getInteger("benchmark.rows", 3_000_000);
+    private static final int PAGE_SIZE = 30;
+    private static final int DEEP_PAGE = 10_000;
+    private static final int REPEAT = 5;
+
+    @Autowired
+    MemberRepository memberRepository;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @BeforeAll
+    void setUp() {
+        // 수백만 건은 JPA로 넣지 않고 H2 system_range로 한 번에 생성
+        jdbcTemplate.update("insert into member (member_id, username, age, version) " +
+                "select x, 'member' || x, mod(x, 100), 0 from system_range(1, ?)", ROWS);
+    }
+
+    @AfterAll
+    void tearDown() {
+        jdbcTemplate.update("delete from member");
+    }
+
+    @Test
+    @DisplayName("offset 페이징 vs keyset 페이징 : 1페이지, 10,000페이지")
+    void offset_vs_keyset_페이징_비교() {
+        Sort sort = Sort.by(Sort.Direction.ASC, "username", "id");
+
+        // 10,000 페이지를 keyset으로 조회하기 위한 커서 (직전 페이지의 마지막 row, 측정 대상 아님)
+        Member lastOfPreviousPage = memberRepository.findAll(PageRequest.of(DEEP_PAGE - 1, PAGE_SIZE, sort))
+                                                    .getContent().get(PAGE_SIZE - 1);
+        MemberCursor first = MemberCursor.first("username", Sort.Direction.ASC);
+        MemberCursor deep = first.next(lastOfPreviousPage);
+
+        long offsetFirst = measure(() -> memberRepository.findAll(PageRequest.of(0, PAGE_SIZE, sort)));
+        long offsetDeep = measure(() -> memberRepository.findAll(PageRequest.of(DEEP_PAGE, PAGE_SIZE, sort)));
+        long keysetFirst = measure(() -> memberRepository.findMembersByCursor(first, PAGE_SIZE));
+        long keysetDeep = measure(() -> memberRepository.findMembersByCursor(deep, PAGE_SIZE));
+
+        System.out.println("rows = " + ROWS + ", pageSize = " + PAGE_SIZE);
+        System.out.println("offset page 1      = " + offsetFirst / 1_000 + " us");
+        System.out.println("offset page " + DEEP_PAGE + " = " + offsetDeep / 1_000 + " us");
+        System.out.println("keyset page 1      = " + keysetFirst / 1_000 + " us");
+        System.out.println("keyset page " + DEEP_PAGE + " = " + keysetDeep / 1_000 + " us");
+
+        // 같은 위치의 데이터를 조회해야 한다.
+        Page<Member> offsetPage = memberRepository.findAll(PageRequest.of(DEEP_PAGE, PAGE_SIZE, sort));
+        Slice<Member> keysetPage = memberRepository.findMembersByCursor(deep, PAGE_SIZE);
+        assertThat(keysetPage.getContent()).extracting(Member::getId)
+                .containsExactlyElementsOf(offsetPage.map(Member::getId).getContent());
+    }
+
+    // 반복 측정 후 중앙값(ns)
+    private long measure(Supplier<?> query) {
+        query.get(); // warm-up
+        long[] elapsed = new long[REPEAT];
+        for (int i = 0; i < REPEAT; i++) {
+            long start = System.nanoTime();
+            query.get();
+            elapsed[i] = System.nanoTime() - start;
+        }
+        Arrays.sort(elapsed);
+        return elapsed[REPEAT / 2];
+    }
+}
@@ -0,0 +1,89 @@
+package com.example.springdatajpa.repository;
+
+import com.example.springdatajpa.entity.Member;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// ./gradlew benchmarkTest --tests '*MemberReportBenchmarkTest' -Dbenchmark.rows=1000000
+@Tag("benchmark")
+@SpringBootTest
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class MemberReportBenchmarkTest {
+    private static final int ROWS = Integer.getInteger("benchmark.rows", 1_000_000);
+
+    @Autowired
+    MemberRepository memberRepository;
+
+    @Autowired
+    TransactionTemplate transactionTemplate;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @BeforeAll
+    void setUp() {
+        jdbcTemplate.update("insert into member (member_id, username, age, version) " +
+                "select x, 'member' || x, mod(x, 100), 0 from system_range(1, ?)", ROWS);
+    }
+
+    @AfterAll
+    void tearDown() {
+        jdbcTemplate.update("delete from member");
+    }
+
+    @Test
+    @DisplayName("EntityManager 전체 조회 vs StatelessSession 스크롤 : 힙 사용량")
+    void 전체조회_vs_StatelessSession_비교() {
+        // EntityManager : 트랜잭션이 끝날 때까지 전체 결과 + 영속성 컨텍스트 유지
+        long baseline = usedHeap();
+        long start = System.nanoTime();
+        long[] entityManager = transactionTemplate.execute(status -> {
+            List<Member> members = memberRepository.findAllMembersCustom();
+            long used = usedHeap() - baseline;
+            long sum = members.stream().mapToLong(Member::getAge).sum();
+            return new long[]{members.size(), used, sum};
+        });
+        long entityManagerMillis = (System.nanoTime() - start) / 1_000_000;
+
+        // StatelessSession : 중간(ROWS / 2) 지점의 힙 사용량
+        baseline = usedHeap();
+        long scanBaseline = baseline;
+        AtomicLong scanUsed = new AtomicLong();
+        AtomicLong scanSum = new AtomicLong();
+        start = System.nanoTime();
+        long scanned = memberRepository.scanAllMembers(member -> {
+            scanSum.addAndGet(member.getAge());
+            if (member.getId() == ROWS / 2) {
+                scanUsed.set(usedHeap() - scanBaseline);
+            }
+        });
+        long scanMillis = (System.nanoTime() - start) / 1_000_000;
+
+        System.out.println("rows = " + ROWS);
+        System.out.println("findAllMembersCustom : " + entityManager[1] / 1024 / 1024 + " MB, " + entityManagerMillis + " ms");
+        System.out.println("scanAllMembers       : " + scanUsed.get() / 1024 / 1024 + " MB, " + scanMillis + " ms");
+
+        assertThat(entityManager[0]).isEqualTo(ROWS);
+        assertThat(scanned).isEqualTo(ROWS);
+        assertThat(scanSum.get()).isEqualTo(entityManager[2]);
+    }
+
+    private static long usedHeap() {
+        System.gc();
+        Runtime runtime = Runtime.getRuntime();
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
@@ -1,11 +1,18 @@
 package com.example.springdatajpa.repository;
 
 import com.example.springdatajpa.dto.MemberDto;
+import com.example.springdatajpa.dto.TeamMemberStatsDto;
 import com.example.springdatajpa.dto.UsernameOnlyDto;
 import com.example.springdatajpa.entity.Member;
 import com.example.springdatajpa.entity.Team;
+import com.example.springdatajpa.monitoring.QueryCountHolder;
+import com.example.springdatajpa.monitoring.QueryCountScope;
+import com.example.springdatajpa.support.QueryBudget;
 import org.assertj.core.api.Assertions;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
 import org.hibernate.graph.Graph;
+import org.hibernate.stat.CacheRegionStatistics;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -15,10 +22,16 @@ import org.springframework.data.jpa.domain.Specification;
 import org.springframework.transaction.annotation.Transactional;
 
 import javax.persistence.EntityManager;
+import java.lang.reflect.Proxy;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Base64;
 import java.util.List;
+import java.util.stream.Collectors;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 @Transactional
 @SpringBootTest
@@ -32,6 +45,9 @@ class MemberRepositoryTest {
     @Autowired
     EntityManager em;
 
+    @Autowired
+    SpecificationQueryCache specificationQueryCache;
+
     @Test
     @DisplayName("Spring Data JPA Member save 기본 테스트")
     void SPRING_DATA_JPA_REPOSITORY_멤버_저장_테스트() {
@@ -370,6 +386,76 @@ class MemberRepositoryTest {
     }
 
 
+    @Test
+    @DisplayName("Keyset(커서) 페이징 테스트")
+    void keyset_커서_페이징_테스트() {
+        // given
+        memberRepository.save(new Member("AAA", 10));
+        memberRepository.save(new Member("BBB", 20));
+        memberRepository.save(new Member("CCC", 10));
+        memberRepository.save(new Member("ABB", 10));
+        memberRepository.save(new Member("AVV", 20));
+        memberRepository.save(new Member("ABC", 10));
+        memberRepository.save(new Member("BVC", 10));
+
+        // when
+        int age = 10;
+        int size = 3;
+        MemberCursor first = MemberCursor.first("username", Sort.Direction.DESC);
+        Slice<Member> firstSlice = memberRepository.findMembersSliceByAgeAndCursor(age, first, size);
+
+        List<Member> firstContent = firstSlice.getContent();
+        String nextCursor = first.next(firstContent.get(firstContent.size() - 1)).encode();
+        MemberCursor second = MemberCursor.decode(nextCursor, "id", Sort.Direction.ASC); // 커서의 정렬조건이 우선
+        Slice<Member> secondSlice = memberRepository.findMembersSliceByAgeAndCursor(age, second, size);
+
+        // then
+        assertThat(firstContent).extracting(Member::getUsername).containsExactly("CCC", "BVC", "ABC");
+        assertThat(firstSlice.hasNext()).isTrue();
+        assertThat(secondSlice.getContent()).extracting(Member::getUsername).containsExactly("ABB", "AAA");
+        assertThat(secondSlice.hasNext()).isFalse();
+    }
+
+
+    @Test
+    @DisplayName("Keyset 페이징 : 정렬키가 null 인 회원은 마지막 구간에서 id 순으로 이어서 조회")
+    void keyset_페이징_null_정렬키_테스트() {
+        // given
+        memberRepository.save(new Member("BBB", 10));
+        memberRepository.save(new Member(null, 10));
+        memberRepository.save(new Member("null", 10));
+        memberRepository.save(new Member(null, 10));
+        memberRepository.save(new Member("AAA", 10));
+
+        // when : 2건씩 끝까지
+        List<String> usernames = new ArrayList<>();
+        MemberCursor cursor = MemberCursor.first("username", Sort.Direction.ASC);
+        Slice<Member> slice;
+        do {
+            slice = memberRepository.findMembersByCursor(cursor, 2);
+            slice.getContent().forEach(member -> usernames.add(member.getUsername()));
+            List<Member> content = slice.getContent();
+            cursor = MemberCursor.decode(cursor.next(content.get(content.size() - 1)).encode(), "id", Sort.Direction.ASC);
+        } while (slice.hasNext());
+
+        // then : 문자열 "null" 과 null 을 구분한다.
+        assertThat(usernames).containsExactly("AAA", "BBB", "null", null, null);
+    }
+
+    @Test
+    @DisplayName("Keyset 페이징 : 잘못된 커서는 InvalidCursorException")
+    void keyset_페이징_잘못된_커서_테스트() {
+        String notNumber = Base64.getUrlEncoder().encodeToString("age|ASC|1|1abc".getBytes(StandardCharsets.UTF_8));
+        String unsupportedSort = Base64.getUrlEncoder().encodeToString("team|ASC|1|1abc".getBytes(StandardCharsets.UTF_8));
+
+        assertThatThrownBy(() -> MemberCursor.decode("%%%", "id", Sort.Direction.ASC))
+                .isInstanceOf(InvalidCursorException.class);
+        assertThatThrownBy(() -> MemberCursor.decode(notNumber, "id", Sort.Direction.ASC))
+                .isInstanceOf(InvalidCursorException.class);
+        assertThatThrownBy(() -> MemberCursor.decode(unsupportedSort, "id", Sort.Direction.ASC))
+                .isInstanceOf(InvalidCursorException.class);
+    }
+
     @Test
     @DisplayName("count 쿼리분리 페이징 테스트")
     void count_쿼리분리_페이징_테스트() {
@@ -410,6 +496,80 @@ class MemberRepositoryTest {
         System.out.println("dtoPage = " + dtoPage.getContent());
     }
 
+    @Test
+    @DisplayName("in 절 파라미터 패딩 : 컬렉션 크기가 달라도 SQL 종류는 2의 거듭제곱 개수만큼만 생긴다")
+    void in절_파라미터_패딩_테스트() {
+        // given
+        QueryCountScope scope = QueryCountHolder.open("in-clause-padding", 0, 0);
+
+        // when : 1 ~ 20개
+        try {
+            for (int size = 1; size <= 20; size++) {
+                List<String> names = new ArrayList<>();
+                for (int i = 0; i < size; i++) {
+                    names.add("member" + i);
+                }
+                memberRepository.findMembersByNames(names);
+            }
+        } finally {
+            QueryCountHolder.close(scope);
+        }
+
+        // then : 1, 2, 4, 8, 16, 32
+        assertThat(scope.getTotal()).isEqualTo(20);
+        assertThat(scope.getShapes()).hasSizeLessThanOrEqualTo(6);
+    }
+
+    @Test
+    @DisplayName("DTO 페이징 : 영속성 컨텍스트에 엔티티를 올리지 않는다")
+    void DTO_페이징_테스트() {
+        // given
+        Team teamA = new Team("teamA");
+        em.persist(teamA);
+        for (int i = 0; i < 5; i++) {
+            em.persist(new Member("member" + i, 10, i % 2 == 0 ? teamA : null));
+        }
+        em.flush();
+        em.clear();
+
+        // when
+        Page<MemberDto> page = memberRepository.findMemberDtoPage(PageRequest.of(0, 3, Sort.by("username")));
+
+        // then
+        assertThat(page.getTotalElements()).isEqualTo(5);
+        assertThat(page.getContent()).extracting(MemberDto::getUsername).containsExactly("member0", "member1", "member2");
+        assertThat(page.getContent()).extracting(MemberDto::getTeamName).containsExactly("teamA", null, "teamA");
+        assertThat(em.unwrap(Session.class).getStatistics().getEntityCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("StatelessSession 리포트 조회 : 스캔/집계")
+    void StatelessSession_리포트_테스트() {
+        // given
+        Team teamA = new Team("teamA");
+        Team teamB = new Team("teamB");
+        em.persist(teamA);
+        em.persist(teamB);
+        em.persist(new Member("member1", 10, teamA));
+        em.persist(new Member("member2", 20, teamA));
+        em.persist(new Member("member3", 30, teamB));
+        em.flush();
+        em.clear();
+
+        // when
+        List<MemberDto> dtos = new ArrayList<>();
+        long scanned = memberRepository.scanMemberDtos(dtos::add);
+        List<TeamMemberStatsDto> stats = memberRepository.teamMemberStats();
+
+        // then
+        assertThat(scanned).isEqualTo(3);
+        assertThat(dtos).extracting(MemberDto::getTeamName).containsExactlyInAnyOrder("teamA", "teamA", "teamB");
+        assertThat(stats).extracting(TeamMemberStatsDto::getTeamName).containsExactly("teamA", "teamB");
+        assertThat(stats.get(0).getMemberCount()).isEqualTo(2);
+        assertThat(stats.get(0).getAverageAge()).isEqualTo(15.0);
+        assertThat(em.unwrap(Session.class).getStatistics().getEntityCount()).isZero();
+    }
+
     @Test
     @DisplayName("벌크성 수정 쿼리 테스트")
     void bulkUpdateQueryTest() {
@@ -429,6 +589,54 @@ class MemberRepositoryTest {
     }
 
 
+    @Test
+    @DisplayName("2차 캐시 : 벌크성 수정 쿼리 후 정합성 테스트")
+    void 이차캐시_벌크수정_테스트() {
+        // given
+        Member member = memberRepository.save(new Member("member1", 20));
+        em.flush();
+        em.clear();
+
+        CacheRegionStatistics memberRegion = em.getEntityManagerFactory().unwrap(SessionFactory.class)
+                                               .getStatistics().getDomainDataRegionStatistics("member");
+        memberRepository.findById(member.getId());  // DB 조회 후 2차 캐시에 저장
+        em.clear();
+        long hitCount = memberRegion.getHitCount();
+
+        // when
+        Member cached = memberRepository.findById(member.getId()).get();  // 2차 캐시 hit
+        memberRepository.bulkAgePlus(20);   // 벌크 수정은 member 리전을 무효화
+        Member afterBulk = memberRepository.findById(member.getId()).get();
+
+        // then
+        assertThat(memberRegion.getHitCount()).isEqualTo(hitCount + 1);
+        assertThat(cached.getAge()).isEqualTo(20);
+        assertThat(afterBulk.getAge()).isEqualTo(21);
+    }
+
+    @Test
+    @DisplayName("벌크성 수정 쿼리 : 수정 대상 회원만 영속성 컨텍스트에서 제거")
+    void 벌크수정_대상만_제거_테스트() {
+        // given
+        Team teamA = teamRepository.save(new Team("teamA"));
+        Member member1 = memberRepository.save(new Member("member1", 10, teamA));
+        Member member2 = memberRepository.save(new Member("member2", 20, teamA));
+        Member member3 = memberRepository.save(new Member("member3", 30, teamA));
+
+        // when
+        List<Long> ids = memberRepository.bulkAgePlusAndEvict(20);
+
+        // then
+        assertThat(ids).containsExactlyInAnyOrder(member2.getId(), member3.getId());
+        assertThat(em.contains(member1)).isTrue();
+        assertThat(em.contains(teamA)).isTrue();
+        assertThat(em.contains(member2)).isFalse();
+        assertThat(em.contains(member3)).isFalse();
+        assertThat(memberRepository.findById(member2.getId()).get().getAge()).isEqualTo(21);
+        assertThat(memberRepository.findById(member3.getId()).get().getAge()).isEqualTo(31);
+    }
+
+
     @Test
     @DisplayName("지연로딩_fetch 조인 테스트")
     void 지연로딩_fetch조인_테스트() {
@@ -460,6 +668,30 @@ class MemberRepositoryTest {
     }
 
 
+    @Test
+    @DisplayName("fetch 조인 statement 예산 테스트 : 팀 조회로 N+1이 발생하지 않는다")
+    @QueryBudget(1)
+    void fetch조인_statement_예산_테스트() {
+        // given
+        for (int i = 0; i < 5; i++) {
+            Team team = new Team("team" + i);
+            teamRepository.save(team);
+            memberRepository.save(new Member("member" + i, 10 + i, team));
+        }
+        em.flush();
+        em.clear();
+        QueryCountHolder.reset();
+
+        // when
+        List<Member> members = memberRepository.findMembersFetchJoin();
+
+        // then
+        for (Member member : members) {
+            assertThat(member.getTeam().getName()).startsWith("team");
+        }
+    }
+
+
     @Test
     @DisplayName("Entity Graph 테스트")
     void 지연로딩_EntityGraph_테스트() {
@@ -564,6 +796,81 @@ class MemberRepositoryTest {
         Assertions.assertThat(result.size()).isEqualTo(1);
     }
 
+    @Test
+    @DisplayName("Specification JPQL 캐시 : 같은 구조면 값이 달라도 캐시된 JPQL 사용")
+    void Specification_JPQL_캐시_테스트() {
+        // given
+        Team teamA = new Team("TeamA");
+        em.persist(teamA);
+        em.persist(new Member("member1", 10, teamA));
+        em.persist(new Member("member2", 20, teamA));
+        em.flush();
+        em.clear();
+
+        // when
+        List<Member> first = memberRepository.findAllCached(MemberSpec.username("member1").and(MemberSpec.teamName("TeamA")));
+        List<Member> second = memberRepository.findAllCached(MemberSpec.username("member2").and(MemberSpec.teamName("TeamA")));
+        List<Member> none = memberRepository.findAllCached(MemberSpec.username("member1").and(MemberSpec.teamName("TeamB")));
+
+        // then
+        assertThat(first).extracting(Member::getUsername).containsExactly("member1");
+        assertThat(second).extracting(Member::getUsername).containsExactly("member2");
+        assertThat(none).isEmpty();
+        assertThat(specificationQueryCache.snapshot())
+                .filteredOn(shape -> shape.getShape().endsWith("(username) and (teamName)"))
+                .singleElement()
+                .satisfies(shape -> {
+                    assertThat(shape.getMisses()).isEqualTo(1);
+                    assertThat(shape.getHits()).isGreaterThanOrEqualTo(2);
+                });
+    }
+
+    @Test
+    @DisplayName("대량 저장 : 회원/팀이 같은 fragment 로 batchSize 건씩 저장, batchSize 가 1 미만이면 예외")
+    void 대량저장_fragment_테스트() {
+        // given
+        List<Team> teams = List.of(new Team("teamA"), new Team("teamB"));
+        List<Member> members = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            members.add(new Member("batch" + i, i, teams.get(i % 2)));
+        }
+
+        // when
+        int savedTeams = teamRepository.saveAllBatched(teams, 1);
+        int savedMembers = memberRepository.saveAllBatched(members, 2);
+
+        // then
+        assertThat(savedTeams).isEqualTo(2);
+        assertThat(savedMembers).isEqualTo(5);
+        assertThat(memberRepository.findAll()).extracting(Member::getUsername)
+                .contains("batch0", "batch1", "batch2", "batch3", "batch4");
+        assertThatThrownBy(() -> memberRepository.saveAllBatched(List.of(new Member("batch5", 5)), 0))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    @DisplayName("Specification 조합 : 양쪽에서 같은 파라미터 이름을 사용")
+    void Specification_같은_파라미터_조합_테스트() {
+        // given
+        em.persist(new Member("member1", 10));
+        em.persist(new Member("member2", 20));
+        em.persist(new Member("member3", 30));
+        em.flush();
+        em.clear();
+
+        // when
+        ShapedSpecification<Member> spec = MemberSpec.username("member1").or(MemberSpec.username("member2"));
+        List<Member> cached = memberRepository.findAllCached(spec);
+        List<Member> plain = memberRepository.findAll(spec);
+        List<Member> self = memberRepository.findAllCached(spec.and(spec));
+
+        // then
+        assertThat(spec.getParameters()).containsOnlyKeys("l_username", "r_username");
+        assertThat(cached).extracting(Member::getUsername).containsExactlyInAnyOrder("member1", "member2");
+        assertThat(plain).extracting(Member::getUsername).containsExactlyInAnyOrder("member1", "member2");
+        assertThat(self).extracting(Member::getUsername).containsExactlyInAnyOrder("member1", "member2");
+    }
+
     @Test
     @DisplayName("Projections_테스트")
     void Projections_테스트() {
@@ -724,4 +1031,80 @@ class MemberRepositoryTest {
             System.out.println("memberProjection.getTeamName() = " + memberProjection.getTeamName());
         }
     }
+
+    @Test
+    @DisplayName("생성된_매퍼_Projections_테스트")
+    void 생성된_매퍼_Projections_테스트() {
+        // given
+        Team teamA = new Team("TeamA");
+        em.persist(teamA);
+
+        Member member1 = new Member("member1", 10, teamA);
+        Member member2 = new Member("member2", 20, teamA);
+
+        em.persist(member1);
+        em.persist(member2);
+
+        em.flush();
+        em.clear();
+
+        // when
+        List<UsernameOnly> usernames = memberRepository.findMappedProjectionsByUsername("member1");
+        List<UsernameOnlyDto> usernameDtos = memberRepository.findMappedClassProjectionsByUsername("member1");
+        List<MemberDto> memberDtos = memberRepository.findMappedMemberDto();
+        Page<MemberProjection> page = memberRepository.findMappedMemberProjections(PageRequest.of(0, 1));
+
+        // then : 프록시가 아닌 생성된 클래스, 값은 기존 projection 과 같다.
+        assertThat(usernames).extracting(UsernameOnly::getUsername)
+                             .containsExactlyElementsOf(memberRepository.findProjectionsByUsername("member1").stream()
+                                                                        .map(UsernameOnly::getUsername)
+                                                                        .collect(Collectors.toList()));
+        assertThat(usernames.get(0).getUsername()).isEqualTo("member1 10");
+        assertThat(Proxy.isProxyClass(usernames.get(0).getClass())).isFalse();
+        assertThat(usernameDtos).extracting(UsernameOnlyDto::getUsername).containsExactly("member1");
+        assertThat(memberDtos).containsExactlyInAnyOrderElementsOf(memberRepository.findMemberDto());
+
+        Page<MemberProjection> expected = memberRepository.findMemberByNativeQueryProjections(PageRequest.of(0, 1));
+        assertThat(page.getTotalElements()).isEqualTo(expected.getTotalElements()).isEqualTo(2);
+        assertThat(page.getContent()).hasSize(1);
+        assertThat(page.getContent().get(0).getId()).isEqualTo(expected.getContent().get(0).getId());
+        assertThat(page.getContent().get(0).getTeamName()).isEqualTo("TeamA");
+    }
+
+    @Test
+    @DisplayName("중첩_Projections_컬럼_테스트")
+    void 중첩_Projections_컬럼_테스트() {
+        // given
+        Team teamA = new Team("TeamA");
+        em.persist(teamA);
+
+        em.persist(new Member("member1", 10, teamA));
+        em.persist(new Member("member1", 20));   // 팀 없음
+
+        em.flush();
+        em.clear();
+
+        // when
+        QueryCountScope scope = QueryCountHolder.open("nested-projection", 0, 0);
+        List<NestedClosedProjection> result;
+        try {
+            result = memberRepository.findDynamicProjectionsByUsername("member1", NestedClosedProjection.class);
+        } finally {
+            QueryCountHolder.close(scope);
+        }
+
+        // then : 조인 한 번, SELECT 절에는 username 과 team.name 만 있다.
+        assertThat(scope.getTotal()).isEqualTo(1);
+        String sql = scope.getShapes().keySet().iterator().next();
+        String selectClause = sql.substring("select ".length(), sql.indexOf(" from "));
+        assertThat(selectClause.split(",")).hasSize(2);
+        assertThat(selectClause).contains(".username").contains(".name").doesNotContain(".age");
+        assertThat(sql).contains("left outer join team");
+
+        assertThat(result).extracting(NestedClosedProjection::getUsername).containsOnly("member1");
+        assertThat(result).extracting(NestedClosedProjection::getTeam)
+                          .extracting(team -> team == null ? null : team.getName())
+                          .containsExactlyInAnyOrder("TeamA", null);
+        assertThat(em.unwrap(Session.class).getStatistics().getEntityCount()).isZero();
+    }
 }
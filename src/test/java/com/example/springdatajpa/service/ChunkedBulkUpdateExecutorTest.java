@@ -0,0 +1,193 @@
+package com.example.springdatajpa.service;
+
+import com.example.springdatajpa.dto.BulkJobProgress;
+import com.example.springdatajpa.entity.BulkJobCheckpoint;
+import com.example.springdatajpa.entity.Item;
+import com.example.springdatajpa.entity.Member;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.persistence.EntityManager;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+// 청크마다 커밋되므로 @Transactional(롤백) 없이 실행하고 직접 정리한다.
+@SpringBootTest
+class ChunkedBulkUpdateExecutorTest {
+    private static final String AGE_PLUS = "m.age = m.age + 1";
+    private static final String AGE_GOE = "m.age >= :age";
+
+    @Autowired
+    ChunkedBulkUpdateExecutor chunkedBulkUpdateExecutor;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    TransactionTemplate transactionTemplate;
+
+    @Autowired
+    EntityManager em;
+
+    @BeforeEach
+    void setUp() {
+        // id 1 ~ 25, 나이 = id
+        jdbcTemplate.update("insert into member (member_id, username, age, version) " +
+                "select x, 'member' || x, x, 0 from system_range(1, 25)");
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("delete from member");
+        jdbcTemplate.update("delete from bulk_job_checkpoint");
+    }
+
+    @Test
+    @DisplayName("청크 벌크 수정 : id 범위 청크마다 커밋")
+    void 청크_벌크수정_테스트() {
+        // when
+        BulkJobProgress progress = chunkedBulkUpdateExecutor.update("age-plus", Member.class, "m", AGE_PLUS, AGE_GOE,
+                                                                    Map.of("age", 20), 10, Duration.ZERO);
+
+        // then
+        assertThat(progress.getStatus()).isEqualTo(BulkJobCheckpoint.Status.COMPLETED);
+        assertThat(progress.getProcessedRows()).isEqualTo(6);   // 20 ~ 25
+        assertThat(progress.getCompletedChunks()).isEqualTo(3); // 1~10, 11~20, 21~25
+        assertThat(progress.getRemainingChunks()).isZero();
+        // versioned : version 과 수정일도 함께 갱신
+        assertThat(jdbcTemplate.queryForObject("select count(*) from member where age = member_id + 1 " +
+                "and version = 1 and last_modified_date is not null", Long.class))
+                .isEqualTo(6);
+    }
+
+    @Test
+    @DisplayName("청크 벌크 수정 : where 절의 서브쿼리는 그대로 두고 id 범위 조건만 붙인다")
+    void 청크_벌크수정_서브쿼리_테스트() {
+        // when : 나이가 최대 나이와 같은 회원만
+        BulkJobProgress progress = chunkedBulkUpdateExecutor.update("age-plus", Member.class, "m", AGE_PLUS,
+                "m.age = (select max(m2.age) from Member m2 where m2.age >= :age)", Map.of("age", 0),
+                10, Duration.ZERO);
+
+        // then
+        assertThat(progress.getProcessedRows()).isEqualTo(1);
+        assertThat(jdbcTemplate.queryForObject("select age from member where member_id = 25", Integer.class))
+                .isEqualTo(26);
+    }
+
+    @Test
+    @DisplayName("청크 벌크 수정 : 실패한 작업은 마지막으로 커밋된 청크 다음부터 재시작")
+    void 청크_벌크수정_재시작_테스트() {
+        // given : 1~10 청크까지 처리하고 실패한 작업
+        saveCheckpoint(Map.of("age", 0), null);
+
+        // when
+        BulkJobProgress progress = chunkedBulkUpdateExecutor.update("age-plus", Member.class, "m", AGE_PLUS, AGE_GOE,
+                                                                    Map.of("age", 0), 10, Duration.ZERO);
+
+        // then : 11 ~ 25 만 수정
+        assertThat(progress.getStatus()).isEqualTo(BulkJobCheckpoint.Status.COMPLETED);
+        assertThat(progress.getProcessedRows()).isEqualTo(15);
+        assertThat(jdbcTemplate.queryForObject("select count(*) from member where age = member_id", Long.class))
+                .isEqualTo(10);
+    }
+
+    @Test
+    @DisplayName("청크 벌크 수정 : 파라미터가 다르면 이어서 실행하지 않는다")
+    void 청크_벌크수정_파라미터_불일치_테스트() {
+        // given
+        saveCheckpoint(Map.of("age", 20), null);
+
+        // when, then
+        assertThatThrownBy(() -> chunkedBulkUpdateExecutor.update("age-plus", Member.class, "m", AGE_PLUS, AGE_GOE,
+                                                                  Map.of("age", 0), 10, Duration.ZERO))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("파라미터");
+        assertThat(jdbcTemplate.queryForObject("select count(*) from member where age = member_id", Long.class))
+                .isEqualTo(25);
+    }
+
+    @Test
+    @DisplayName("청크 벌크 수정 : 다른 runner 의 lease 가 유효하면 실행하지 않는다")
+    void 청크_벌크수정_lease_테스트() {
+        // given
+        saveCheckpoint(Map.of("age", 0), "other-runner");
+
+        // when, then
+        assertThatThrownBy(() -> chunkedBulkUpdateExecutor.update("age-plus", Member.class, "m", AGE_PLUS, AGE_GOE,
+                                                                  Map.of("age", 0), 10, Duration.ZERO))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("이미 실행 중");
+        assertThat(jdbcTemplate.queryForObject("select count(*) from member where age = member_id", Long.class))
+                .isEqualTo(25);
+    }
+
+    @Test
+    @DisplayName("청크 벌크 수정 : chunkSize 가 1 미만이면 체크포인트를 만들지 않고 실패")
+    void 청크_벌크수정_chunkSize_검증_테스트() {
+        // when, then
+        assertThatThrownBy(() -> chunkedBulkUpdateExecutor.update("age-plus", Member.class, "m", AGE_PLUS, AGE_GOE,
+                                                                  Map.of("age", 0), 0, Duration.ZERO))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("chunkSize");
+        assertThat(jdbcTemplate.queryForObject("select count(*) from bulk_job_checkpoint", Long.class)).isZero();
+        assertThat(jdbcTemplate.queryForObject("select count(*) from member where age = member_id", Long.class))
+                .isEqualTo(25);
+    }
+
+    @Test
+    @DisplayName("청크 벌크 수정 : 완료된 작업은 다시 실행하지 않고 완료된 진행 상황을 돌려준다")
+    void 청크_벌크수정_완료된_작업_테스트() {
+        // given
+        chunkedBulkUpdateExecutor.update("age-plus", Member.class, "m", AGE_PLUS, AGE_GOE,
+                                         Map.of("age", 20), 10, Duration.ZERO);
+
+        // when : 같은 작업을 한 번 더 실행
+        BulkJobProgress progress = chunkedBulkUpdateExecutor.update("age-plus", Member.class, "m", AGE_PLUS, AGE_GOE,
+                                                                    Map.of("age", 20), 10, Duration.ZERO);
+
+        // then : age + 1 이 두 번 적용되지 않는다.
+        assertThat(progress.getStatus()).isEqualTo(BulkJobCheckpoint.Status.COMPLETED);
+        assertThat(progress.getProcessedRows()).isEqualTo(6);
+        assertThat(progress.getRowsPerSecond()).isZero();
+        assertThat(jdbcTemplate.queryForObject("select count(*) from member where age = member_id + 1", Long.class))
+                .isEqualTo(6);
+    }
+
+    @Test
+    @DisplayName("청크 벌크 수정 : id 가 정수가 아닌 엔티티는 체크포인트를 만들지 않고 실패")
+    void 청크_벌크수정_id_타입_검증_테스트() {
+        // when, then
+        assertThatThrownBy(() -> chunkedBulkUpdateExecutor.delete("item-delete", Item.class, "i", null,
+                                                                  Map.of(), 10, Duration.ZERO))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("idType=String");
+        assertThat(jdbcTemplate.queryForObject("select count(*) from bulk_job_checkpoint", Long.class)).isZero();
+    }
+
+    // 1~10 청크까지 처리한 작업 : owner 가 없으면 실패한 작업, 있으면 실행 중인 작업
+    private void saveCheckpoint(Map<String, ?> parameters, String owner) {
+        String jpql = chunkedBulkUpdateExecutor.jpql(chunkedBulkUpdateExecutor.updateJpql(Member.class, "m", AGE_PLUS),
+                                                     AGE_GOE);
+        transactionTemplate.executeWithoutResult(status -> {
+            BulkJobCheckpoint checkpoint = new BulkJobCheckpoint("age-plus", jpql,
+                    ChunkedBulkUpdateExecutor.serialize(parameters), 1, 25);
+            checkpoint.chunkCompleted(10, 0);
+            if (owner == null) {
+                checkpoint.fail();
+            } else {
+                checkpoint.lease(owner, LocalDateTime.now().plusMinutes(5));
+            }
+            em.persist(checkpoint);
+        });
+    }
+}
@@ -0,0 +1,116 @@
+package com.example.springdatajpa.service;
+
+import com.example.springdatajpa.entity.Member;
+import com.example.springdatajpa.entity.Team;
+import com.example.springdatajpa.repository.MemberRepository;
+import com.example.springdatajpa.repository.TeamRepository;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+// 내보내기는 자체 readOnly 트랜잭션에서 실행되므로 @Transactional(롤백) 없이 실행하고 직접 정리한다.
+// clear-interval 을 작게 두어서 내보내는 도중 영속성 컨텍스트 초기화와 flush 가 일어나도록 한다.
+@SpringBootTest(properties = "app.member-export.clear-interval=2")
+class MemberExportServiceTest {
+    @Autowired
+    MemberExportService memberExportService;
+
+    @Autowired
+    MemberRepository memberRepository;
+
+    @Autowired
+    TeamRepository teamRepository;
+
+    @Autowired
+    ObjectMapper objectMapper;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    DataSource dataSource;
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("delete from member");
+        jdbcTemplate.update("delete from team");
+    }
+
+    @Test
+    @DisplayName("NDJSON 내보내기 : 회원 한 명당 JSON 객체 한 줄")
+    void NDJSON_내보내기_테스트() throws IOException {
+        // given
+        Team teamA = teamRepository.save(new Team("teamA"));
+        memberRepository.save(new Member("member1", 10, teamA));
+        memberRepository.save(new Member("member2", 20, teamA));
+        memberRepository.save(new Member("member3", 30));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // when
+        long count = memberExportService.exportNdjson(out);
+
+        // then
+        String body = out.toString(StandardCharsets.UTF_8);
+        assertThat(count).isEqualTo(3);
+        assertThat(body).endsWith("\n");
+
+        List<JsonNode> lines = new ArrayList<>();
+        for (String line : body.split("\n")) {
+            lines.add(objectMapper.readTree(line));
+        }
+        assertThat(lines).hasSize(3).allSatisfy(line -> assertThat(line.isObject()).isTrue());
+        assertThat(lines).extracting(line -> line.get("username").asText())
+                         .containsExactlyInAnyOrder("member1", "member2", "member3");
+        assertThat(lines).extracting(line -> line.get("teamName").isNull() ? null : line.get("teamName").asText())
+                         .containsExactlyInAnyOrder("teamA", "teamA", null);
+    }
+
+    @Test
+    @DisplayName("NDJSON 내보내기 : 클라이언트가 끊으면 스트림과 트랜잭션을 닫고 커넥션을 반납")
+    void NDJSON_내보내기_중단_테스트() throws SQLException {
+        // given
+        for (int i = 0; i < 10; i++) {
+            memberRepository.save(new Member("member" + i, i));
+        }
+        HikariDataSource pool = dataSource.unwrap(HikariDataSource.class);
+
+        // when : 첫 flush(2건) 에서 연결이 끊긴 응답
+        OutputStream aborted = new OutputStream() {
+            @Override
+            public void write(int b) {
+            }
+
+            @Override
+            public void flush() throws IOException {
+                throw new IOException("Broken pipe");
+            }
+        };
+
+        // then
+        assertThatThrownBy(() -> memberExportService.exportNdjson(aborted))
+                .isInstanceOf(IOException.class)
+                .hasMessage("Broken pipe");
+        assertThat(TransactionSynchronizationManager.isActualTransactionActive()).isFalse();
+        assertThat(TransactionSynchronizationManager.getResourceMap()).isEmpty();
+        assertThat(pool.getHikariPoolMXBean().getActiveConnections()).isZero();
+    }
+}
@@ -0,0 +1,123 @@
+package com.example.springdatajpa.service;
+
+import com.example.springdatajpa.entity.Member;
+import com.example.springdatajpa.monitoring.OptimisticLockMetrics;
+import com.example.springdatajpa.repository.MemberRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.persistence.EntityManagerFactory;
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+// 재시도마다 새 트랜잭션이 필요하므로 @Transactional(롤백) 없이 실행하고 직접 정리한다.
+@SpringBootTest
+@Import(OptimisticRetryTest.ConflictingService.class)
+class OptimisticRetryTest {
+    @Autowired
+    MemberRepository memberRepository;
+
+    @Autowired
+    ConflictingService conflictingService;
+
+    @Autowired
+    OptimisticLockMetrics optimisticLockMetrics;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("delete from member");
+    }
+
+    @Test
+    @DisplayName("낙관적 락 : 조회 후 다른 트랜잭션이 먼저 수정하면 충돌하고, @OptimisticRetry 로 재시도해서 성공")
+    void 낙관적락_재시도_테스트() {
+        // given
+        Member member = memberRepository.save(new Member("member1", 10));
+        long recovered = optimisticLockMetrics.recoveredCount();
+
+        // when : 첫 시도에서만 다른 트랜잭션이 끼어든다.
+        conflictingService.conflictOnNext(1);
+        int age = conflictingService.addAge(member.getId(), 1);
+
+        // then : 끼어든 수정(+100) 위에 다시 +1
+        assertThat(age).isEqualTo(111);
+        assertThat(memberRepository.findById(member.getId()).get().getAge()).isEqualTo(111);
+        assertThat(optimisticLockMetrics.recoveredCount()).isEqualTo(recovered + 1);
+        assertThat(optimisticLockMetrics.snapshot()).containsKey("Member");
+    }
+
+    @Test
+    @DisplayName("낙관적 락 : 재시도 횟수를 넘으면 예외")
+    void 낙관적락_재시도_초과_테스트() {
+        // given
+        Member member = memberRepository.save(new Member("member1", 10));
+
+        // when, then : 세 번 모두 충돌
+        conflictingService.conflictOnNext(3);
+        assertThatThrownBy(() -> conflictingService.addAge(member.getId(), 1))
+                .isInstanceOf(ObjectOptimisticLockingFailureException.class);
+    }
+
+    @TestConfiguration
+    static class ConflictingService {
+        private final AtomicInteger remainingConflicts = new AtomicInteger();
+
+        @Autowired
+        MemberRepository memberRepository;
+
+        @Autowired
+        DataSource dataSource;
+
+        @Autowired
+        EntityManagerFactory entityManagerFactory;
+
+        // 다음 attempts 번의 실행은 조회 직후 다른 트랜잭션이 같은 회원을 수정한다.
+        public void conflictOnNext(int attempts) {
+            remainingConflicts.set(attempts);
+        }
+
+        @OptimisticRetry(backoffMillis = 1)
+        @Transactional
+        public int addAge(Long memberId, int delta) {
+            Member member = memberRepository.findById(memberId).get();
+            if (remainingConflicts.getAndDecrement() > 0) {
+                concurrentUpdate(memberId);
+            }
+            member.setAge(member.getAge() + delta);
+            return member.getAge();
+        }
+
+        // 현재 트랜잭션과 다른 커넥션에서 수정 후 커밋
+        private void concurrentUpdate(Long memberId) {
+            try (Connection connection = dataSource.getConnection();
+                 PreparedStatement statement = connection.prepareStatement(
+                         "update member set age = age + 100, version = version + 1 where member_id = ?")) {
+                statement.setLong(1, memberId);
+                statement.executeUpdate();
+                if (!connection.getAutoCommit()) {
+                    connection.commit();
+                }
+            } catch (SQLException e) {
+                throw new IllegalStateException(e);
+            }
+            entityManagerFactory.getCache().evict(Member.class, memberId);
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package com.example.springdatajpa.support;
+
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+// 테스트 메서드에서 실행할 수 있는 SQL statement 수 제한
+// given 단계의 SQL은 QueryCountHolder.reset() 으로 빼고 센다.
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+@ExtendWith(QueryBudgetExtension.class)
+public @interface QueryBudget {
+    // 최대 statement 수
+    int value();
+
+    // 같은 모양의 select가 반복되면(N+1) 실패
+    boolean failOnNPlusOne() default true;
+
+    int nPlusOneThreshold() default 3;
+}
@@ -0,0 +1,39 @@
+package com.example.springdatajpa.support;
+
+import com.example.springdatajpa.monitoring.QueryCountHolder;
+import com.example.springdatajpa.monitoring.QueryCountScope;
+import org.junit.jupiter.api.extension.AfterEachCallback;
+import org.junit.jupiter.api.extension.BeforeEachCallback;
+import org.junit.jupiter.api.extension.ExtensionContext;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+public class QueryBudgetExtension implements BeforeEachCallback, AfterEachCallback {
+    private static final ExtensionContext.Namespace NAMESPACE = ExtensionContext.Namespace.create(QueryBudgetExtension.class);
+
+    @Override
+    public void beforeEach(ExtensionContext context) {
+        QueryBudget budget = context.getRequiredTestMethod().getAnnotation(QueryBudget.class);
+        QueryCountScope scope = QueryCountHolder.open(context.getDisplayName(), budget.value(), budget.nPlusOneThreshold());
+        context.getStore(NAMESPACE).put(QueryCountScope.class, scope);
+    }
+
+    @Override
+    public void afterEach(ExtensionContext context) {
+        QueryBudget budget = context.getRequiredTestMethod().getAnnotation(QueryBudget.class);
+        QueryCountScope scope = context.getStore(NAMESPACE).remove(QueryCountScope.class, QueryCountScope.class);
+        QueryCountHolder.close(scope);
+
+        if (scope.isOverBudget()) {
+            throw new AssertionError("statement budget exceeded : " + scope.getTotal() + " > " + scope.getBudget()
+                    + "\n" + scope.summary() + "\n" + scope.getBudgetExceededStack());
+        }
+        List<QueryCountScope.ShapeCount> suspects = scope.nPlusOneSuspects();
+        if (budget.failOnNPlusOne() && !suspects.isEmpty()) {
+            throw new AssertionError("N+1 suspected :\n" + suspects.stream()
+                    .map(suspect -> suspect.getCount() + " x " + suspect.getShape() + "\n" + suspect.getFirstRepeatStack())
+                    .collect(Collectors.joining("\n")));
+        }
+    }
+}